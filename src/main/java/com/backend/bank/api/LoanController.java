@@ -7,6 +7,7 @@ import com.backend.bank.dto.response.LoanApplicationResponse;
 import com.backend.bank.dto.response.LoanDetailsResponse;
 import com.backend.bank.dto.response.LoanRepaymentResponse;
 import com.backend.bank.service.intf.LoanService;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -138,7 +139,7 @@ public class LoanController {
     @PreAuthorize("hasRole('ROLE_USER') or hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_STAFF')")
     public ResponseEntity<LoanDetailsResponse> getLoanDetails(
             @Parameter(description = "ID of the loan", required = true)
-            @PathVariable Long loanId
+            @PathVariable @OpaqueId Long loanId
     ) {
         LoanDetailsResponse response = this.loanService.getLoanDetails(loanId);
         return ResponseEntity.ok(response);
@@ -162,7 +163,7 @@ public class LoanController {
     @PreAuthorize("hasRole('ROLE_USER') or hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_STAFF')")
     public ResponseEntity<List<LoanDetailsResponse>> getCustomerLoans(
             @Parameter(description = "ID of the customer", required = true)
-            @PathVariable Long customerId
+            @PathVariable @OpaqueId Long customerId
     ) {
         List<LoanDetailsResponse> response = this.loanService.getCustomerLoans(customerId);
         return ResponseEntity.ok(response);
@@ -1,9 +1,19 @@
 package com.backend.bank.api;
 
+import com.backend.bank.dto.request.BatchTransferRequest;
 import com.backend.bank.dto.request.TransactionRequest;
+import com.backend.bank.dto.response.BalanceResponse;
+import com.backend.bank.dto.response.BatchTransferResponse;
+import com.backend.bank.dto.response.TransactionHistoryResponse;
 import com.backend.bank.dto.response.TransactionResponse;
+import com.backend.bank.entity.enums.StatementFormat;
+import com.backend.bank.entity.enums.TransactionHistoryFilter;
 import com.backend.bank.security.SecurityWall;
+import com.backend.bank.service.intf.IdempotencyService;
+import com.backend.bank.service.intf.LedgerService;
+import com.backend.bank.service.intf.StatementService;
 import com.backend.bank.service.intf.TransactionService;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,10 +31,16 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -38,6 +54,12 @@ public class TransactionController {
 
     TransactionService transactionService;
 
+    IdempotencyService idempotencyService;
+
+    StatementService statementService;
+
+    LedgerService ledgerService;
+
     @SuppressWarnings("unused")
     SecurityWall securityWall;
 
@@ -53,17 +75,23 @@ public class TransactionController {
             content = @Content(schema = @Schema(implementation = TransactionResponse.class))
         ),
         @ApiResponse(responseCode = "403", description = "Access denied - Requires ADMIN/MANAGER/STAFF role"),
-        @ApiResponse(responseCode = "400", description = "Invalid transaction details")
+        @ApiResponse(responseCode = "400", description = "Invalid transaction details"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request")
     })
     @PostMapping("/deposit")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_STAFF')")
     public ResponseEntity<CompletableFuture<TransactionResponse>> deposit(
             @Parameter(description = "Account ID", required = true)
-            @PathVariable(name = "accountId") Long accountId,
+            @PathVariable(name = "accountId") @OpaqueId Long accountId,
             @Parameter(description = "Transaction details", required = true)
-            @RequestBody @Valid TransactionRequest transactionRequest
+            @RequestBody @Valid TransactionRequest transactionRequest,
+            @Parameter(description = "Client generated key, retries with the same key are executed only once")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        CompletableFuture<TransactionResponse> response = transactionService.deposit(accountId, transactionRequest);
+        CompletableFuture<TransactionResponse> response = idempotencyService.execute(
+                "deposit", accountId, idempotencyKey, transactionRequest, TransactionResponse.class,
+                () -> transactionService.deposit(accountId, transactionRequest));
         return ResponseEntity.ok(response);
     }
 
@@ -79,15 +107,21 @@ public class TransactionController {
             content = @Content(schema = @Schema(implementation = TransactionResponse.class))
         ),
         @ApiResponse(responseCode = "403", description = "Access denied or insufficient account access"),
-        @ApiResponse(responseCode = "400", description = "Invalid transaction details or insufficient funds")
+        @ApiResponse(responseCode = "400", description = "Invalid transaction details or insufficient funds"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request")
     })
     @PostMapping("/withdraw")
     @PreAuthorize("hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId)")
     public ResponseEntity<CompletableFuture<TransactionResponse>> withdraw(
-            @PathVariable(name = "accountId") Long accountId,
-            @RequestBody @Valid TransactionRequest transactionRequest
+            @PathVariable(name = "accountId") @OpaqueId Long accountId,
+            @RequestBody @Valid TransactionRequest transactionRequest,
+            @Parameter(description = "Client generated key, retries with the same key are executed only once")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        CompletableFuture<TransactionResponse> response = transactionService.withdraw(accountId, transactionRequest);
+        CompletableFuture<TransactionResponse> response = idempotencyService.execute(
+                "withdraw", accountId, idempotencyKey, transactionRequest, TransactionResponse.class,
+                () -> transactionService.withdraw(accountId, transactionRequest));
         return ResponseEntity.ok(response);
     }
 
@@ -103,18 +137,150 @@ public class TransactionController {
             content = @Content(schema = @Schema(implementation = TransactionResponse.class))
         ),
         @ApiResponse(responseCode = "403", description = "Access denied or insufficient account access"),
-        @ApiResponse(responseCode = "400", description = "Invalid transaction details or insufficient funds")
+        @ApiResponse(responseCode = "400", description = "Invalid transaction details or insufficient funds"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request")
     })
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId)")
     public ResponseEntity<CompletableFuture<TransactionResponse>> transfer(
-            @PathVariable(name = "accountId") @NotNull Long accountId,
-            @RequestBody @Valid TransactionRequest transactionRequest
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
+            @RequestBody @Valid TransactionRequest transactionRequest,
+            @Parameter(description = "Client generated key, retries with the same key are executed only once")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        CompletableFuture<TransactionResponse> response = idempotencyService.execute(
+                "transfer", accountId, idempotencyKey, transactionRequest, TransactionResponse.class,
+                () -> transactionService.transfer(accountId, transactionRequest));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Batch transfer money",
+        description = "Transfer money from an ENTERPRISE account to many accounts in one request, e.g. for payroll",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed, see the result of every transfer",
+            content = @Content(schema = @Schema(implementation = BatchTransferResponse.class))
+        ),
+        @ApiResponse(responseCode = "403", description = "Access denied or insufficient account access"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch or the account is not an ENTERPRISE account"),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId)")
+    public ResponseEntity<CompletableFuture<BatchTransferResponse>> batchTransfer(
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
+            @RequestBody @Valid BatchTransferRequest batchTransferRequest,
+            @Parameter(description = "Client generated key, retries with the same key are executed only once")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        CompletableFuture<BatchTransferResponse> response = idempotencyService.execute(
+                "batch", accountId, idempotencyKey, batchTransferRequest, BatchTransferResponse.class,
+                () -> transactionService.batchTransfer(accountId, batchTransferRequest));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get transaction history by cursor",
+        description = "Retrieve transaction history newest first. Pass the nextCursor of a page to get the following page",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Transaction history retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TransactionHistoryResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/history")
+    @PreAuthorize(
+            "hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')" +
+            " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
+    )
+    public ResponseEntity<CompletableFuture<TransactionHistoryResponse>> getTransactionHistoryByCursor(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
+            @Parameter(description = "Which transactions to include", example = "ALL")
+            @RequestParam(name = "filter", defaultValue = "ALL") TransactionHistoryFilter filter,
+            @Parameter(description = "nextCursor of the previous page, empty for the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of records per page", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size
     ) {
-        CompletableFuture<TransactionResponse> response = transactionService.transfer(accountId, transactionRequest);
+        CompletableFuture<TransactionHistoryResponse> response = transactionService.getTransactionHistory(accountId, filter, cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Get balance at a point in time",
+        description = "Balance of an account at the given time, from the nearest daily snapshot and the postings since",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Balance retrieved successfully",
+            content = @Content(schema = @Schema(implementation = BalanceResponse.class))
+        ),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @GetMapping("/balance")
+    @PreAuthorize(
+            "hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')" +
+            " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
+    )
+    public ResponseEntity<BalanceResponse> getBalanceAt(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
+            @Parameter(description = "Point in time, ISO-8601", example = "2024-01-31T23:59:59", required = true)
+            @RequestParam(name = "at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return ResponseEntity.ok(new BalanceResponse(accountId, at, ledgerService.balanceAt(accountId, at)));
+    }
+
+    @Operation(
+        summary = "Export transaction history",
+        description = "Stream the full transaction history of an account as CSV or NDJSON, newest first",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statement streamed"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @GetMapping("/history/export")
+    @PreAuthorize(
+            "hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')" +
+            " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
+    )
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
+            @Parameter(description = "Output format", example = "CSV")
+            @RequestParam(name = "format", defaultValue = "CSV") StatementFormat format
+    ) {
+        statementService.checkExportable(accountId);
+
+        MediaType mediaType = switch (format) {
+            case CSV -> new MediaType("text", "csv", StandardCharsets.UTF_8);
+            case NDJSON -> MediaType.APPLICATION_NDJSON;
+        };
+        String fileName = "statement." + format.name().toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(outputStream -> statementService.exportHistory(accountId, format, outputStream));
+    }
+
     @Operation(
         summary = "Get all transaction history",
         description = "Retrieve complete transaction history for an account",
@@ -135,7 +301,7 @@ public class TransactionController {
     )
     public ResponseEntity<CompletableFuture<List<TransactionResponse>>> getTransactionHistory(
             @Parameter(description = "Account ID", required = true)
-            @PathVariable(name = "accountId") @NotNull Long accountId,
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
             @Parameter(description = "Page number (starts from 0)", example = "0")
             @RequestParam(value = "0") int page,
             @Parameter(description = "Number of records per page", example = "10")
@@ -155,7 +321,7 @@ public class TransactionController {
             " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
     )
     public ResponseEntity<CompletableFuture<List<TransactionResponse>>> getDepositTransactionHistory(
-            @PathVariable(name = "accountId") @NotNull Long accountId,
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
             @RequestParam(value = "0") int page,
             @RequestParam(value = "10") int size
     ) {
@@ -173,7 +339,7 @@ public class TransactionController {
             " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
     )
     public ResponseEntity<CompletableFuture<List<TransactionResponse>>> getWithdrawTransactionHistory(
-            @PathVariable(name = "accountId") @NotNull Long accountId,
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
             @RequestParam(value = "0") int page,
             @RequestParam(value = "10") int size
     ) {
@@ -191,7 +357,7 @@ public class TransactionController {
             " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
     )
     public ResponseEntity<CompletableFuture<List<TransactionResponse>>> getTransferredTransactionHistory(
-            @PathVariable(name = "accountId") @NotNull Long accountId,
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
             @RequestParam(value = "0") int page,
             @RequestParam(value = "10") int size
     ) {
@@ -209,7 +375,7 @@ public class TransactionController {
             " or (hasRole('ROLE_USER') and @securityWall.canAccessAccount(#accountId))"
     )
     public ResponseEntity<CompletableFuture<List<TransactionResponse>>> getReceivedTransactionHistory(
-            @PathVariable(name = "accountId") @NotNull Long accountId,
+            @PathVariable(name = "accountId") @OpaqueId @NotNull Long accountId,
             @RequestParam(value = "0") int page,
             @RequestParam(value = "10") int size
     ) {
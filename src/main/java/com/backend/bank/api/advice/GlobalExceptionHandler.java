@@ -325,6 +325,58 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(AccountBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleAccountBusyException(
+            AccountBusyException e,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        Map<String, Object> errorDetails = buildErrorDetails(request, e, HttpStatus.CONFLICT);
+        log.error("AccountBusyException occurred: {}, {}, {} ",
+                webRequest.getHeaderNames(), webRequest.getParameterMap(), errorDetails, e);
+        return buildErrorResponse(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyInProgressException(
+            IdempotencyKeyInProgressException e,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        Map<String, Object> errorDetails = buildErrorDetails(request, e, HttpStatus.CONFLICT);
+        log.error("IdempotencyKeyInProgressException occurred: {}, {}, {} ",
+                webRequest.getHeaderNames(), webRequest.getParameterMap(), errorDetails, e);
+        return buildErrorResponse(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(SmsQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleSmsQueueFullException(
+            SmsQueueFullException e,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        Map<String, Object> errorDetails = buildErrorDetails(request, e, HttpStatus.SERVICE_UNAVAILABLE);
+        log.error("SmsQueueFullException occurred: {}, {}, {} ",
+                webRequest.getHeaderNames(), webRequest.getParameterMap(), errorDetails, e);
+        return buildErrorResponse(errorDetails, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReuseException(
+            IdempotencyKeyReuseException e,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        Map<String, Object> errorDetails = buildErrorDetails(request, e, HttpStatus.UNPROCESSABLE_ENTITY);
+        log.error("IdempotencyKeyReuseException occurred: {}, {}, {} ",
+                webRequest.getHeaderNames(), webRequest.getParameterMap(), errorDetails, e);
+        return buildErrorResponse(errorDetails, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<Map<String, Object>> handleAllExceptions(
@@ -1,5 +1,6 @@
 package com.backend.bank.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -66,4 +67,57 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "interestTaskExecutor")
+    public Executor interestTaskExecutor(@Value("${transaction.interest.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("interest-");
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(60);
+        executor.setStrictEarlyShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "interestRunTaskExecutor")
+    public Executor interestRunTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("interest-run-");
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(60);
+        executor.setStrictEarlyShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "outboxTaskExecutor")
+    public ThreadPoolTaskExecutor outboxTaskExecutor(@Value("${notification.outbox.dispatchers:2}") int dispatchers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dispatchers);
+        executor.setMaxPoolSize(dispatchers);
+        executor.setQueueCapacity(dispatchers);
+        executor.setThreadNamePrefix("outbox-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "smsTaskExecutor")
+    public ThreadPoolTaskExecutor smsTaskExecutor(
+            @Value("${sms.workers:8}") int workers,
+            @Value("${sms.queue-capacity:10000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sms-");
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,16 +1,70 @@
 package com.backend.bank.config;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bounded caches built from a Guava spec per cache, {@code cache.<name>.spec}, falling back
+ * to {@code cache.default-spec}. Every cache records statistics and publishes them as the
+ * {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size} metrics.
+ * <p>
+ * A spec may use {@code maximumSize}, {@code initialCapacity}, {@code concurrencyLevel},
+ * {@code expireAfterWrite}, {@code expireAfterAccess}, {@code weakKeys}, {@code weakValues},
+ * {@code softValues} and {@code recordStats}. {@code refreshAfterWrite} needs a cache loader
+ * and {@code maximumWeight} a weigher, neither of which the Spring cache abstraction provides,
+ * so a spec using them fails the startup with the offending property named.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    private static final Set<String> SUPPORTED_SPEC_KEYS = Set.of(
+            "maximumSize", "initialCapacity", "concurrencyLevel", "expireAfterWrite", "expireAfterAccess",
+            "weakKeys", "weakValues", "softValues", "recordStats");
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("transactions", "accounts");
+    public CacheManager cacheManager(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${cache.names:transactions,accounts,principals}") List<String> cacheNames,
+            @Value("${cache.default-spec:maximumSize=10000,expireAfterWrite=10m}") String defaultSpec
+    ) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(cacheNames.stream()
+                .map(name -> {
+                    String spec = environment.getProperty("cache." + name + ".spec", defaultSpec);
+                    requireSupported(name, spec);
+                    com.google.common.cache.Cache<Object, Object> store = CacheBuilder.from(CacheBuilderSpec.parse(spec))
+                            .recordStats()
+                            .build();
+                    GuavaCacheMetrics.monitor(meterRegistry, store, name);
+                    return new GuavaCache(name, store);
+                })
+                .toList());
+        return cacheManager;
+    }
+
+    private static void requireSupported(String name, String spec) {
+        for (String option : spec.split(",")) {
+            String key = option.split("=", 2)[0].trim();
+            if (!key.isEmpty() && !SUPPORTED_SPEC_KEYS.contains(key)) {
+                throw new IllegalStateException("cache." + name + ".spec: '" + key + "' is not supported, "
+                        + "the supported keys are " + SUPPORTED_SPEC_KEYS);
+            }
+        }
     }
 }
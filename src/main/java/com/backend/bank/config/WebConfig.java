@@ -0,0 +1,23 @@
+package com.backend.bank.config;
+
+import com.backend.bank.security.data.OpaqueIdCodec;
+import com.backend.bank.utils.OpaqueIdFormatterFactory;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    @Override
+    public void addFormatters(@NonNull FormatterRegistry registry) {
+        registry.addFormatterForFieldAnnotation(new OpaqueIdFormatterFactory(opaqueIdCodec));
+    }
+}
@@ -0,0 +1,9 @@
+package com.backend.bank.dto;
+
+import com.backend.bank.entity.enums.AccountStatus;
+
+/**
+ * The few account columns needed to route a transfer, without loading the account entity.
+ */
+public record AccountRef(Long id, String accountNumberIndex, AccountStatus accountStatus) {
+}
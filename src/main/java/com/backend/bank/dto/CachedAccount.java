@@ -0,0 +1,16 @@
+package com.backend.bank.dto;
+
+import com.backend.bank.entity.enums.AccountStatus;
+import com.backend.bank.entity.enums.AccountType;
+
+/**
+ * The account columns checked on every request, kept in the {@code accounts} cache.
+ * The balance is deliberately not part of it, balances are only read by guarded updates.
+ */
+public record CachedAccount(
+        Long id,
+        String accountNumberIndex,
+        AccountType accountType,
+        AccountStatus accountStatus,
+        String ownerEmailIndex) {
+}
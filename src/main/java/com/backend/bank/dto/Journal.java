@@ -0,0 +1,72 @@
+package com.backend.bank.dto;
+
+import com.backend.bank.entity.enums.EntryDirection;
+import com.backend.bank.entity.enums.LedgerBook;
+import com.backend.bank.entity.enums.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A balanced set of ledger legs posted together. Legs on {@code CUSTOMER_ACCOUNT} carry the
+ * account id; a credit raises the account balance and a debit lowers it.
+ */
+public record Journal(LedgerEntryType type, Long transactionId, List<Leg> legs) {
+
+    public record Leg(LedgerBook book, Long accountId, EntryDirection direction, BigDecimal amount) {
+    }
+
+    public Journal {
+        BigDecimal balance = BigDecimal.ZERO;
+        for (Leg leg : legs) {
+            balance = leg.direction() == EntryDirection.DEBIT ? balance.add(leg.amount()) : balance.subtract(leg.amount());
+        }
+        if (balance.signum() != 0) {
+            throw new IllegalArgumentException("Unbalanced " + type + " journal");
+        }
+    }
+
+    public static Journal deposit(Long accountId, BigDecimal amount, Long transactionId) {
+        return new Journal(LedgerEntryType.DEPOSIT, transactionId, List.of(
+                book(LedgerBook.CASH, EntryDirection.DEBIT, amount),
+                account(accountId, EntryDirection.CREDIT, amount)));
+    }
+
+    public static Journal withdrawal(Long accountId, BigDecimal amount, Long transactionId) {
+        return new Journal(LedgerEntryType.WITHDRAWAL, transactionId, List.of(
+                account(accountId, EntryDirection.DEBIT, amount),
+                book(LedgerBook.CASH, EntryDirection.CREDIT, amount)));
+    }
+
+    public static Journal transfer(Long fromAccountId, Long toAccountId, BigDecimal amount, Long transactionId) {
+        return new Journal(LedgerEntryType.TRANSFER, transactionId, List.of(
+                account(fromAccountId, EntryDirection.DEBIT, amount),
+                account(toAccountId, EntryDirection.CREDIT, amount)));
+    }
+
+    public static Journal loanDisbursement(Long accountId, BigDecimal amount) {
+        return new Journal(LedgerEntryType.LOAN_DISBURSEMENT, null, List.of(
+                book(LedgerBook.LOANS, EntryDirection.DEBIT, amount),
+                account(accountId, EntryDirection.CREDIT, amount)));
+    }
+
+    public static Journal loanRepayment(Long accountId, BigDecimal amount) {
+        return new Journal(LedgerEntryType.LOAN_REPAYMENT, null, List.of(
+                account(accountId, EntryDirection.DEBIT, amount),
+                book(LedgerBook.LOANS, EntryDirection.CREDIT, amount)));
+    }
+
+    public static Journal interest(Long accountId, BigDecimal amount, Long transactionId) {
+        return new Journal(LedgerEntryType.INTEREST, transactionId, List.of(
+                book(LedgerBook.INTEREST_EXPENSE, EntryDirection.DEBIT, amount),
+                account(accountId, EntryDirection.CREDIT, amount)));
+    }
+
+    private static Leg account(Long accountId, EntryDirection direction, BigDecimal amount) {
+        return new Leg(LedgerBook.CUSTOMER_ACCOUNT, accountId, direction, amount);
+    }
+
+    private static Leg book(LedgerBook book, EntryDirection direction, BigDecimal amount) {
+        return new Leg(book, null, direction, amount);
+    }
+}
@@ -0,0 +1,12 @@
+package com.backend.bank.dto;
+
+import com.backend.bank.dto.request.TransactionRequest;
+
+import java.math.BigDecimal;
+
+/**
+ * The outbox payload of a {@code TRANSFER_RECEIVED} notice. The recipient's balance is taken
+ * right after the credit, so a notice sent after retries still reports the balance of that moment.
+ */
+public record TransferReceivedNotice(TransactionRequest transfer, BigDecimal balance) {
+}
@@ -0,0 +1,14 @@
+package com.backend.bank.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchTransferRequest(
+
+        @NotEmpty(message = "A batch must contain at least one transfer")
+        @Size(max = 10000, message = "A batch can not contain more than 10000 transfers")
+        List<@Valid TransferInstruction> transfers) {
+}
@@ -1,5 +1,7 @@
 package com.backend.bank.dto.request;
 
+import com.backend.bank.utils.annotation.OpaqueId;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -10,6 +12,7 @@ import java.math.BigDecimal;
 public record LoanApplicationRequest(
 
         @NotNull(message = "Customer's Id is null")
+        @OpaqueId
         Long customerId,
 
         @NotNull(message = "The amount of the loan can not be empty")
@@ -1,5 +1,7 @@
 package com.backend.bank.dto.request;
 
+import com.backend.bank.utils.annotation.OpaqueId;
+
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 
@@ -8,6 +10,7 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public record LoanApprovalRequest(
 
         @NotNull(message = "User's id can not be null")
+        @OpaqueId
         Long loanId,
 
         @DefaultValue(value = "false")
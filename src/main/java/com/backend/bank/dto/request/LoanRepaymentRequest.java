@@ -1,5 +1,7 @@
 package com.backend.bank.dto.request;
 
+import com.backend.bank.utils.annotation.OpaqueId;
+
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +14,7 @@ import java.time.LocalDate;
 public record LoanRepaymentRequest(
 
         @NotNull(message = "User's loan ID can not be null")
+        @OpaqueId
         Long loanId,
 
         @NotNull(message = "Loan account number can not be empty")
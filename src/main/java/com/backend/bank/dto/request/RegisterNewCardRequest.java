@@ -2,6 +2,7 @@ package com.backend.bank.dto.request;
 
 import com.backend.bank.entity.Customer;
 import com.backend.bank.entity.enums.CardType;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import jakarta.persistence.ManyToOne;
 import jakarta.validation.constraints.*;
@@ -13,6 +14,7 @@ import java.time.LocalDate;
 
 public record RegisterNewCardRequest(
         @NotNull(message = "User's id must not be null or empty")
+        @OpaqueId
         Long customerId,
 
         @NotNull(message = "Card number must not be null or empty")
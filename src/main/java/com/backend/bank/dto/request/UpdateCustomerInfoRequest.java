@@ -1,10 +1,13 @@
 package com.backend.bank.dto.request;
 
+import com.backend.bank.utils.annotation.OpaqueId;
+
 import jakarta.validation.constraints.*;
 
 public record UpdateCustomerInfoRequest(
 
         @NotNull(message = "Who there?")
+        @OpaqueId
         Long customerId,
 
         @NotNull
@@ -1,12 +1,14 @@
 package com.backend.bank.dto.request;
 
 import com.backend.bank.entity.enums.AccountType;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import jakarta.validation.constraints.NotNull;
 
 public record UpgradeAccountRequest(
 
         @NotNull(message = "User's id can not be null")
+        @OpaqueId
         Long customerId,
 
         @NotNull(message = "Account type must not be empty or null")
@@ -0,0 +1,13 @@
+package com.backend.bank.dto.response;
+
+import com.backend.bank.utils.annotation.OpaqueId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BalanceResponse(
+        @OpaqueId
+        Long accountId,
+        LocalDateTime at,
+        BigDecimal balance) {
+}
@@ -0,0 +1,13 @@
+package com.backend.bank.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BatchTransferResponse(
+        int completed,
+        int failed,
+        BigDecimal totalTransferred,
+        LocalDateTime timestamp,
+        List<TransferInstructionResult> results) {
+}
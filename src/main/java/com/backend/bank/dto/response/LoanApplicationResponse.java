@@ -2,11 +2,13 @@ package com.backend.bank.dto.response;
 
 import com.backend.bank.entity.enums.LoanStatus;
 import com.backend.bank.entity.enums.TakeLoanStatus;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public record LoanApplicationResponse(
+        @OpaqueId
         Long loanId,
         BigDecimal amount,
         BigDecimal interestRate,
@@ -1,11 +1,13 @@
 package com.backend.bank.dto.response;
 
 import com.backend.bank.entity.enums.LoanStatus;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public record LoanRepaymentResponse(
+        @OpaqueId
         Long loanId,
         BigDecimal repaymentAmount,
         BigDecimal remainingAmount,
@@ -0,0 +1,8 @@
+package com.backend.bank.dto.response;
+
+import java.util.List;
+
+public record TransactionHistoryResponse(
+        List<TransactionResponse> transactions,
+        String nextCursor) {
+}
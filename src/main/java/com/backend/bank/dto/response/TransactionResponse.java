@@ -2,11 +2,13 @@ package com.backend.bank.dto.response;
 
 import com.backend.bank.entity.enums.TransactionStatus;
 import com.backend.bank.entity.enums.TransactionType;
+import com.backend.bank.utils.annotation.OpaqueId;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public record TransactionResponse(
+        @OpaqueId
         Long id,
         BigDecimal amount,
         LocalDateTime timestamp,
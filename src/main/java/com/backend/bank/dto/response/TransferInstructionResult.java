@@ -0,0 +1,13 @@
+package com.backend.bank.dto.response;
+
+import com.backend.bank.entity.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+
+public record TransferInstructionResult(
+        int index,
+        String transferToAccount,
+        BigDecimal amount,
+        TransactionStatus status,
+        String message) {
+}
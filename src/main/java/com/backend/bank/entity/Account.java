@@ -3,8 +3,11 @@ package com.backend.bank.entity;
 import com.backend.bank.entity.enums.AccountStatus;
 import com.backend.bank.entity.enums.AccountType;
 
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
+import com.backend.bank.security.auth.PrincipalCacheListener;
+import com.backend.bank.security.auth.TokenRevocationListener;
+import com.backend.bank.security.data.BlindIndexListener;
 import com.backend.bank.security.data.EncryptionAttributeConverter;
+import com.backend.bank.utils.AccountCacheListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
@@ -21,12 +24,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@EntityListeners({BlindIndexListener.class, AccountCacheListener.class, PrincipalCacheListener.class, TokenRevocationListener.class})
 @Table(name = "accounts")
 public class Account {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
@@ -34,12 +37,18 @@ public class Account {
     @Column(name = "account_number", nullable = false, unique = true)
     String accountNumber;
 
+    @Column(name = "account_number_index", unique = true, length = 22)
+    String accountNumberIndex;
+
     @Column(name = "balance", nullable = false)
     BigDecimal balance;
 
     @Column(name = "interest", nullable = false)
     BigDecimal interest;
 
+    @Column(name = "interest_period", length = 7)
+    String interestPeriod;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "account_type", nullable = false)
     AccountType accountType;
@@ -53,6 +62,6 @@ public class Account {
     @JoinColumn(name = "customer_id", nullable = false)
     Customer accountHolder;
 
-    @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     List<Transaction> transactions;
 }
@@ -0,0 +1,40 @@
+package com.backend.bank.entity;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account from all ledger legs created before {@code asOf}. Only taken for
+ * accounts that had activity since their previous snapshot.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_balance_snapshots_account_id_as_of", columnNames = {"account_id", "as_of"})
+})
+public class BalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true, nullable = false)
+    Long id;
+
+    @Column(name = "account_id", nullable = false)
+    Long accountId;
+
+    @Column(name = "as_of", nullable = false)
+    LocalDateTime asOf;
+
+    @Column(name = "balance", nullable = false)
+    BigDecimal balance;
+}
@@ -2,7 +2,7 @@ package com.backend.bank.entity;
 
 import com.backend.bank.entity.enums.CardType;
 
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
+import com.backend.bank.security.data.BlindIndexListener;
 import com.backend.bank.security.data.EncryptionAttributeConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -20,12 +20,12 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "cards")
+@EntityListeners(BlindIndexListener.class)
+@Table(name = "cards", indexes = @Index(name = "idx_cards_customer_id", columnList = "customer_id"))
 public class Card {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
@@ -33,6 +33,9 @@ public class Card {
     @Column(name = "card_number", nullable = false, unique = true)
     String cardNumber;
 
+    @Column(name = "card_number_index", unique = true, length = 22)
+    String cardNumberIndex;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "card_type", nullable = false)
     CardType cardType;
@@ -46,7 +49,7 @@ public class Card {
     @Column(name = "balance", nullable = false)
     BigDecimal balance;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "customer_id", nullable = false)
     Customer customer;
@@ -2,8 +2,10 @@ package com.backend.bank.entity;
 
 import com.backend.bank.entity.enums.AccountStatus;
 import com.backend.bank.entity.enums.Role;
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
+import com.backend.bank.security.auth.PrincipalCacheListener;
+import com.backend.bank.security.data.BlindIndexListener;
 import com.backend.bank.security.data.EncryptionAttributeConverter;
+import com.backend.bank.utils.AccountCacheListener;
 import jakarta.persistence.*;
 
 import jdk.jfr.Timestamp;
@@ -27,12 +29,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "customers")
+@EntityListeners({BlindIndexListener.class, AccountCacheListener.class, PrincipalCacheListener.class})
+@Table(name = "customers", indexes = @Index(name = "idx_customers_phone_number_index", columnList = "phone_number_index"))
 public class Customer implements UserDetails {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
@@ -43,10 +45,16 @@ public class Customer implements UserDetails {
     @Column(name = "email", nullable = false, unique = true)
     String email;
 
+    @Column(name = "email_index", unique = true, length = 22)
+    String emailIndex;
+
     @Convert(converter = EncryptionAttributeConverter.class)
     @Column(name = "phone_number", nullable = false)
     String phoneNumber;
 
+    @Column(name = "phone_number_index", length = 22)
+    String phoneNumberIndex;
+
     @Column(name = "first_name", nullable = false)
     String firstName;
 
@@ -64,10 +72,10 @@ public class Customer implements UserDetails {
     @OneToOne(mappedBy = "accountHolder", cascade = CascadeType.ALL)
     Account account;
 
-    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     List<Loan> loans;
 
-    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     List<Card> cards;
 
     @PrePersist
@@ -0,0 +1,35 @@
+package com.backend.bank.entity;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "id", length = 64, nullable = false)
+    String id;
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    String requestHash;
+
+    @Column(name = "response", columnDefinition = "text")
+    String response;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    LocalDateTime completedAt;
+}
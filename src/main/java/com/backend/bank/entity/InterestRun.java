@@ -0,0 +1,38 @@
+package com.backend.bank.entity;
+
+import com.backend.bank.entity.enums.InterestRunStatus;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "interest_runs")
+public class InterestRun {
+
+    @Id
+    @Column(name = "period", length = 7, nullable = false)
+    String period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    InterestRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    LocalDateTime completedAt;
+
+    @Column(name = "accounts_credited", nullable = false)
+    long accountsCredited;
+}
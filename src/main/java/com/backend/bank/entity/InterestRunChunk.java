@@ -0,0 +1,41 @@
+package com.backend.bank.entity;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "interest_run_chunks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_interest_run_chunks_period_start", columnNames = {"period", "start_id"})
+})
+public class InterestRunChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true, nullable = false)
+    Long id;
+
+    @Column(name = "period", length = 7, nullable = false)
+    String period;
+
+    @Column(name = "start_id", nullable = false)
+    Long startId;
+
+    @Column(name = "end_id", nullable = false)
+    Long endId;
+
+    @Column(name = "accounts", nullable = false)
+    int accounts;
+
+    @Column(name = "completed_at", nullable = false)
+    LocalDateTime completedAt;
+}
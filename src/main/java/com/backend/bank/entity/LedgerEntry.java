@@ -0,0 +1,65 @@
+package com.backend.bank.entity;
+
+import com.backend.bank.entity.enums.EntryDirection;
+import com.backend.bank.entity.enums.LedgerBook;
+import com.backend.bank.entity.enums.LedgerEntryType;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One leg of a ledger journal. Entries are only ever inserted, a journal's debit and credit
+ * legs always sum to the same amount.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "ledger_entries", indexes = {
+        @Index(name = "idx_ledger_entries_account_id_created_at", columnList = "account_id, created_at"),
+        @Index(name = "idx_ledger_entries_created_at", columnList = "created_at"),
+        @Index(name = "idx_ledger_entries_journal_id", columnList = "journal_id")
+})
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true, nullable = false)
+    Long id;
+
+    @Column(name = "journal_id", nullable = false)
+    UUID journalId;
+
+    @Column(name = "account_id")
+    Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "book", nullable = false)
+    LedgerBook book;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false)
+    EntryDirection direction;
+
+    @Column(name = "amount", nullable = false)
+    BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    LedgerEntryType type;
+
+    @Column(name = "transaction_id")
+    Long transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+}
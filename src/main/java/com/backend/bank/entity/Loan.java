@@ -3,8 +3,6 @@ package com.backend.bank.entity;
 import com.backend.bank.entity.enums.LoanStatus;
 import com.backend.bank.entity.enums.TakeLoanStatus;
 
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
-
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
@@ -22,12 +20,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "loans")
+@Table(name = "loans", indexes = @Index(name = "idx_loans_customer_id", columnList = "customer_id"))
 public class Loan {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
@@ -58,7 +55,7 @@ public class Loan {
     @Column(name = "loan_status")
     LoanStatus loanStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "customer_id", nullable = false)
     Customer customer;
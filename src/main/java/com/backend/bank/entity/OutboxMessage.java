@@ -0,0 +1,74 @@
+package com.backend.bank.entity;
+
+import com.backend.bank.entity.enums.OutboxMessageType;
+import com.backend.bank.entity.enums.OutboxStatus;
+import com.backend.bank.security.data.EncryptionAttributeConverter;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A customer notification waiting to be sent, written in the same transaction as the change
+ * it reports. An {@code EMAIL} carries its rendered receiver, subject and body. A
+ * {@code TRANSFER_RECEIVED} only carries the recipient account and, in {@code body}, the
+ * serialized transfer request with the recipient's balance after the credit, and is rendered
+ * when it is dispatched.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_status_next_attempt_at", columnList = "status, next_attempt_at")
+})
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true, nullable = false)
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    OutboxMessageType type;
+
+    @Convert(converter = EncryptionAttributeConverter.class)
+    @Column(name = "receiver")
+    String receiver;
+
+    @Column(name = "recipient_account_id")
+    Long recipientAccountId;
+
+    @Column(name = "subject", nullable = false)
+    String subject;
+
+    @Convert(converter = EncryptionAttributeConverter.class)
+    @Column(name = "body", nullable = false, columnDefinition = "text")
+    String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+}
@@ -1,6 +1,5 @@
 package com.backend.bank.entity;
 
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
 import com.backend.bank.security.data.EncryptionAttributeConverter;
 import jakarta.persistence.*;
 
@@ -22,7 +21,6 @@ public class PhoneChangeToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
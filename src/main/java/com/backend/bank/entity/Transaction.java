@@ -2,7 +2,6 @@ package com.backend.bank.entity;
 
 import com.backend.bank.entity.enums.TransactionStatus;
 import com.backend.bank.entity.enums.TransactionType;
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
 import com.backend.bank.security.data.EncryptionAttributeConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -19,12 +18,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_account_id_timestamp", columnList = "account_id, timestamp, id"),
+        @Index(name = "idx_transactions_account_id_type_timestamp", columnList = "account_id, type, timestamp, id"),
+        @Index(name = "idx_transactions_transfer_to_account_timestamp", columnList = "transfer_to_account, timestamp, id")
+})
 public class Transaction {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
@@ -47,7 +49,7 @@ public class Transaction {
     @Column(name = "transfer_to_account")
     String transferToAccount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "account_id", nullable = false)
     Account account;
@@ -1,6 +1,5 @@
 package com.backend.bank.entity;
 
-import com.backend.bank.security.data.EncryptIdAttributeConverter;
 import com.backend.bank.security.data.EncryptionAttributeConverter;
 import jakarta.persistence.*;
 import jdk.jfr.Timestamp;
@@ -21,7 +20,6 @@ public class Verify {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Convert(converter = EncryptIdAttributeConverter.class)
     @Column(name = "id", unique = true, nullable = false)
     Long id;
 
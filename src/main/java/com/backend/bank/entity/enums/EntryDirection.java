@@ -0,0 +1,6 @@
+package com.backend.bank.entity.enums;
+
+public enum EntryDirection {
+    DEBIT,
+    CREDIT
+}
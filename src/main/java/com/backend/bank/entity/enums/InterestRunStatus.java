@@ -0,0 +1,6 @@
+package com.backend.bank.entity.enums;
+
+public enum InterestRunStatus {
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,9 @@
+package com.backend.bank.entity.enums;
+
+public enum LedgerBook {
+    CUSTOMER_ACCOUNT,
+    CASH,
+    LOANS,
+    INTEREST_EXPENSE,
+    OPENING_EQUITY
+}
@@ -0,0 +1,11 @@
+package com.backend.bank.entity.enums;
+
+public enum LedgerEntryType {
+    OPENING_BALANCE,
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER,
+    LOAN_DISBURSEMENT,
+    LOAN_REPAYMENT,
+    INTEREST
+}
@@ -0,0 +1,7 @@
+package com.backend.bank.entity.enums;
+
+public enum OutboxMessageType {
+    EMAIL,
+    TRANSFER_RECEIVED,
+    INTEREST_RECEIVED
+}
@@ -0,0 +1,8 @@
+package com.backend.bank.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
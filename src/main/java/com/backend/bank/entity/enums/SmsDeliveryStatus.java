@@ -0,0 +1,9 @@
+package com.backend.bank.entity.enums;
+
+public enum SmsDeliveryStatus {
+    QUEUED,
+    SENDING,
+    RETRYING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.backend.bank.entity.enums;
+
+public enum TransactionHistoryFilter {
+    ALL,
+    DEPOSIT,
+    WITHDRAWAL,
+    SENT,
+    RECEIVED
+}
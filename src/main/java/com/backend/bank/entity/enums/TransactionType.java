@@ -3,5 +3,6 @@ package com.backend.bank.entity.enums;
 public enum TransactionType {
     DEPOSIT,
     WITHDRAWAL,
-    TRANSFER
+    TRANSFER,
+    INTEREST
 }
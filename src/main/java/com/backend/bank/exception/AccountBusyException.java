@@ -0,0 +1,7 @@
+package com.backend.bank.exception;
+
+public class AccountBusyException extends RuntimeException {
+    public AccountBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.backend.bank.exception;
+
+public class SmsQueueFullException extends RuntimeException {
+    public SmsQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -1,22 +1,81 @@
 package com.backend.bank.repository;
 
+import com.backend.bank.dto.AccountRef;
+import com.backend.bank.dto.CachedAccount;
 import com.backend.bank.entity.Account;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.context.annotation.SessionScope;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    boolean existsByAccountNumber(String accountNumber);
+    boolean existsByAccountNumberIndex(String accountNumberIndex);
 
-    Optional<Account> findByAccountNumber(String transferToAccount);
+    @EntityGraph(attributePaths = "accountHolder")
+    Optional<Account> findByAccountNumberIndex(String accountNumberIndex);
 
-    Optional<Account> findByAccountHolder_Email(String accountHolder_email);
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumberIndex = :accountNumberIndex")
+    Optional<Long> findIdByAccountNumberIndex(String accountNumberIndex);
 
-    Optional<Account> findByAccountHolder_PhoneNumber(String phoneNumber);
+    @EntityGraph(attributePaths = "accountHolder")
+    Optional<Account> findByAccountHolder_EmailIndex(String emailIndex);
 
+    @EntityGraph(attributePaths = "accountHolder")
+    Optional<Account> findByAccountHolder_PhoneNumberIndex(String phoneNumberIndex);
+
+    @EntityGraph(attributePaths = "accountHolder")
     Optional<Account> findByAccountHolder_Id(Long id);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "accountHolder")
+    List<Account> findWithHolderByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.backend.bank.dto.CachedAccount(a.id, a.accountNumberIndex, a.accountType, a.accountStatus, " +
+            "a.accountHolder.emailIndex) FROM Account a WHERE a.id = :id")
+    Optional<CachedAccount> findCachedById(Long id);
+
+    @Query("SELECT new com.backend.bank.dto.AccountRef(a.id, a.accountNumberIndex, a.accountStatus) " +
+            "FROM Account a WHERE a.accountNumberIndex IN :accountNumberIndexes")
+    List<AccountRef> findRefsByAccountNumberIndexIn(Collection<String> accountNumberIndexes);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findBalanceById(Long id);
+
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.id = :id")
+    Optional<String> findAccountNumberById(Long id);
+
+    @Query("SELECT a.id FROM Account a WHERE a.accountHolder.id = :customerId")
+    Optional<Long> findIdByAccountHolderId(Long customerId);
+
+    /**
+     * Subtracts {@code amount} from an active account holding at least that much.
+     *
+     * @return {@code 1} if the balance was debited, {@code 0} if the account does not exist,
+     *         is not active or has insufficient funds.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount " +
+            "WHERE a.id = :id AND a.balance >= :amount " +
+            "AND a.accountStatus = com.backend.bank.entity.enums.AccountStatus.ACTIVE")
+    int debit(Long id, BigDecimal amount);
+
+    /**
+     * Adds {@code amount} to an active account.
+     *
+     * @return {@code 1} if the balance was credited, {@code 0} if the account does not exist or is not active.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount " +
+            "WHERE a.id = :id AND a.accountStatus = com.backend.bank.entity.enums.AccountStatus.ACTIVE")
+    int credit(Long id, BigDecimal amount);
+
+    List<Account> findByAccountNumberIndexIsNull(Pageable pageable);
+}
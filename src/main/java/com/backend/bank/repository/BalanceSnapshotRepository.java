@@ -0,0 +1,89 @@
+package com.backend.bank.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code balance_snapshots}.
+ * <p>
+ * A snapshot at {@code asOf} holds the sum of an account's ledger legs created before it.
+ * Snapshots are written only for accounts with legs since their previous snapshot, so the
+ * legs between the latest snapshot at or before a time and that time always fall within one
+ * snapshot interval.
+ */
+@Repository
+public class BalanceSnapshotRepository {
+
+    private static final String SIGNED_AMOUNT = "CASE direction WHEN 'CREDIT' THEN amount ELSE -amount END";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceSnapshotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<LocalDateTime> findLatestAsOf() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT MAX(as_of) FROM balance_snapshots", Timestamp.class))
+                .map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Snapshots every account from its whole ledger. Used once, when there is no snapshot yet.
+     *
+     * @return The number of snapshots written.
+     */
+    public int insertFromLedger(LocalDateTime asOf) {
+        Timestamp at = Timestamp.valueOf(asOf);
+        return jdbcTemplate.update(
+                "INSERT INTO balance_snapshots (account_id, as_of, balance) " +
+                        "SELECT account_id, ?, SUM(" + SIGNED_AMOUNT + ") FROM ledger_entries " +
+                        "WHERE book = 'CUSTOMER_ACCOUNT' AND created_at < ? GROUP BY account_id " +
+                        "ON CONFLICT (account_id, as_of) DO NOTHING",
+                at, at);
+    }
+
+    /**
+     * Snapshots the accounts with legs in {@code [from, asOf)} as their previous snapshot plus
+     * those legs. {@code from} must be the previous snapshot time.
+     *
+     * @return The number of snapshots written.
+     */
+    public int insertIncrement(LocalDateTime from, LocalDateTime asOf) {
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp at = Timestamp.valueOf(asOf);
+        return jdbcTemplate.update(
+                "INSERT INTO balance_snapshots (account_id, as_of, balance) " +
+                        "SELECT d.account_id, ?, COALESCE(p.balance, 0) + d.delta FROM (" +
+                                "SELECT account_id, SUM(" + SIGNED_AMOUNT + ") AS delta FROM ledger_entries " +
+                                "WHERE book = 'CUSTOMER_ACCOUNT' AND created_at >= ? AND created_at < ? " +
+                                "GROUP BY account_id) d " +
+                        "LEFT JOIN LATERAL (" +
+                                "SELECT s.balance FROM balance_snapshots s WHERE s.account_id = d.account_id AND s.as_of < ? " +
+                                "ORDER BY s.as_of DESC LIMIT 1) p ON TRUE " +
+                        "ON CONFLICT (account_id, as_of) DO NOTHING",
+                at, start, at, at);
+    }
+
+    /**
+     * Balance of an account at {@code at}: the latest snapshot at or before it plus the legs
+     * created from that snapshot up to and including {@code at}.
+     */
+    public BigDecimal balanceAt(Long accountId, LocalDateTime at) {
+        Timestamp time = Timestamp.valueOf(at);
+        return jdbcTemplate.queryForObject(
+                "WITH s AS (SELECT as_of, balance FROM balance_snapshots " +
+                        "WHERE account_id = ? AND as_of <= ? ORDER BY as_of DESC LIMIT 1) " +
+                "SELECT COALESCE((SELECT balance FROM s), 0) + COALESCE((" +
+                        "SELECT SUM(" + SIGNED_AMOUNT + ") FROM ledger_entries " +
+                        "WHERE account_id = ? AND book = 'CUSTOMER_ACCOUNT' AND created_at <= ? " +
+                        "AND created_at >= COALESCE((SELECT as_of FROM s), '-infinity'::timestamp)), 0)",
+                BigDecimal.class,
+                accountId, time, accountId, time);
+    }
+}
@@ -3,12 +3,17 @@ package com.backend.bank.repository;
 import com.backend.bank.entity.Card;
 import com.backend.bank.entity.enums.CardType;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
-    boolean existsByCardNumber(String cardNumber);
+    boolean existsByCardNumberIndex(String cardNumberIndex);
 
     long countByCardType(CardType cardType);
-}
\ No newline at end of file
+
+    List<Card> findByCardNumberIndexIsNull(Pageable pageable);
+}
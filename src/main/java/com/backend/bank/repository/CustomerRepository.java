@@ -2,20 +2,29 @@ package com.backend.bank.repository;
 
 import com.backend.bank.entity.Customer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    Optional<Customer> findByAccount_AccountNumber(String accountNumber);
+    @EntityGraph(attributePaths = "account")
+    Optional<Customer> findByAccount_AccountNumberIndex(String accountNumberIndex);
 
-    Optional<Customer> findByPhoneNumber(String phoneNumber);
+    @EntityGraph(attributePaths = "account")
+    Optional<Customer> findByPhoneNumberIndex(String phoneNumberIndex);
 
-    Optional<Customer> findByEmail(String email);
+    @EntityGraph(attributePaths = "account")
+    Optional<Customer> findByEmailIndex(String emailIndex);
 
-    boolean existsByPhoneNumber(String phoneNumber);
+    boolean existsByPhoneNumberIndex(String phoneNumberIndex);
 
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
+    boolean existsByEmailIndex(String emailIndex);
+
+    @EntityGraph(attributePaths = "account")
+    List<Customer> findByEmailIndexIsNullOrPhoneNumberIndexIsNull(Pageable pageable);
+}
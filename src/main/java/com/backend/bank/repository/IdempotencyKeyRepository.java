@@ -0,0 +1,41 @@
+package com.backend.bank.repository;
+
+import com.backend.bank.entity.IdempotencyKey;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Claims a key for execution.
+     *
+     * @return {@code 1} if the key was claimed, {@code 0} if it was already claimed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (id, request_hash, created_at) " +
+            "VALUES (:id, :requestHash, :createdAt) ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int claim(String id, String requestHash, LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKey k SET k.response = :response, k.completedAt = :completedAt WHERE k.id = :id")
+    int complete(String id, String response, LocalDateTime completedAt);
+
+    /**
+     * Deletes the keys created before the cutoff, completed or not. A pending claim may belong
+     * to an execution whose posting committed without its response being recorded, so it is
+     * kept for the whole retention like a completed key and never made re-executable earlier.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :createdBefore")
+    int deleteExpired(LocalDateTime createdBefore);
+}
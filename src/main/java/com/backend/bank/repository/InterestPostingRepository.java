@@ -0,0 +1,209 @@
+package com.backend.bank.repository;
+
+import com.backend.bank.entity.enums.AccountType;
+import com.backend.bank.entity.enums.InterestRunStatus;
+import com.backend.bank.entity.enums.TransactionStatus;
+import com.backend.bank.entity.enums.TransactionType;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access for the monthly interest posting job.
+ * <p>
+ * A run is recorded per period in {@code interest_runs}, and every id range the chunked
+ * engine has credited in {@code interest_run_chunks}. Each credited account carries the
+ * period in {@code accounts.interest_period}, which is set in the statement that moves its
+ * balance, so both the set-based and the chunked path skip accounts already posted.
+ */
+@Repository
+public class InterestPostingRepository {
+
+    private static final String SET_BASED_POSTING =
+            "WITH due AS (" +
+                    "SELECT id, ROUND(balance * interest, SCALE(balance)) AS amount FROM accounts " +
+                    "WHERE account_type = ? AND id >= ? AND id < ? AND interest_period IS DISTINCT FROM ? " +
+                    "FOR UPDATE), " +
+            "credited AS (" +
+                    "UPDATE accounts a SET balance = a.balance + due.amount, interest_period = ? " +
+                    "FROM due WHERE a.id = due.id RETURNING a.id, due.amount), " +
+            "posted AS (" +
+                    "INSERT INTO transactions (amount, timestamp, type, status, account_id) " +
+                    "SELECT amount, ?, ?, ?, id FROM credited WHERE amount <> 0 " +
+                    "RETURNING id, account_id, amount), " +
+            "journals AS MATERIALIZED (" +
+                    "SELECT gen_random_uuid() AS journal_id, id, account_id, amount FROM posted), " +
+            "ledger AS (" +
+                    "INSERT INTO ledger_entries (journal_id, account_id, book, direction, amount, type, transaction_id, created_at) " +
+                    "SELECT journal_id, NULL, 'INTEREST_EXPENSE', 'DEBIT', amount, 'INTEREST', id, ? FROM journals " +
+                    "UNION ALL " +
+                    "SELECT journal_id, account_id, 'CUSTOMER_ACCOUNT', 'CREDIT', amount, 'INTEREST', id, ? FROM journals) " +
+            "SELECT id, amount FROM credited";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestPostingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record AccountRate(Long id, BigDecimal balance, BigDecimal rate) {
+    }
+
+    public record Credit(Long id, BigDecimal amount) {
+    }
+
+    public record IdRange(long minId, long maxId) {
+    }
+
+    /**
+     * Records a run for the period unless one already exists.
+     */
+    public void startRun(String period, LocalDateTime startedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO interest_runs (period, status, started_at, accounts_credited) VALUES (?, ?, ?, 0) " +
+                        "ON CONFLICT (period) DO NOTHING",
+                period, InterestRunStatus.RUNNING.name(), Timestamp.valueOf(startedAt));
+    }
+
+    public InterestRunStatus findRunStatus(String period) {
+        return InterestRunStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM interest_runs WHERE period = ?", String.class, period));
+    }
+
+    public List<String> findPeriodsByStatus(InterestRunStatus status) {
+        return jdbcTemplate.queryForList(
+                "SELECT period FROM interest_runs WHERE status = ? ORDER BY period", String.class, status.name());
+    }
+
+    /**
+     * Marks the run as completed with the number of accounts the period was posted to.
+     *
+     * @return The number of accounts credited.
+     */
+    public long completeRun(String period, LocalDateTime completedAt) {
+        Long credited = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM accounts WHERE interest_period = ?", Long.class, period);
+        jdbcTemplate.update(
+                "UPDATE interest_runs SET status = ?, completed_at = ?, accounts_credited = ? WHERE period = ?",
+                InterestRunStatus.COMPLETED.name(), Timestamp.valueOf(completedAt), credited, period);
+        return credited;
+    }
+
+    /**
+     * The id range of the accounts whose interest for the period is still due.
+     */
+    public Optional<IdRange> findDueIdRange(String period) {
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM accounts WHERE interest_period IS DISTINCT FROM ?", resultSet -> {
+            resultSet.next();
+            long minId = resultSet.getLong(1);
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(new IdRange(minId, resultSet.getLong(2)));
+        }, period);
+    }
+
+    /**
+     * Claims the id range {@code [startId, endId)} for the period, again if an earlier attempt
+     * already credited part of it. Must run in the transaction that credits the range; a
+     * concurrent claim of the same range waits for it to finish and then only finds the
+     * accounts it left due.
+     */
+    public void claimChunk(String period, long startId, long endId, LocalDateTime claimedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO interest_run_chunks (period, start_id, end_id, accounts, completed_at) VALUES (?, ?, ?, 0, ?) " +
+                        "ON CONFLICT (period, start_id) DO UPDATE SET completed_at = EXCLUDED.completed_at",
+                period, startId, endId, Timestamp.valueOf(claimedAt));
+    }
+
+    /**
+     * Reads balance and rate of every account in {@code [startId, endId)} whose interest for the
+     * period is still due, and holds their row locks until the transaction ends.
+     */
+    public List<AccountRate> lockAccounts(String period, long startId, long endId) {
+        return jdbcTemplate.query(
+                "SELECT id, balance, interest FROM accounts WHERE id >= ? AND id < ? " +
+                        "AND interest_period IS DISTINCT FROM ? ORDER BY id FOR UPDATE",
+                (resultSet, row) -> new AccountRate(
+                        resultSet.getLong("id"),
+                        resultSet.getBigDecimal("balance"),
+                        resultSet.getBigDecimal("interest")),
+                startId, endId, period);
+    }
+
+    /**
+     * Credits the interest of every account in one JDBC batch and marks the period as posted
+     * on each of them, including the ones earning nothing.
+     */
+    public void creditAll(String period, List<Credit> credits) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE accounts SET balance = balance + ?, interest_period = ? WHERE id = ?",
+                credits.stream()
+                        .map(credit -> new Object[]{credit.amount(), period, credit.id()})
+                        .toList());
+    }
+
+    /**
+     * Inserts a completed {@code INTEREST} transaction per credit in one JDBC batch.
+     *
+     * @return The generated transaction ids, in credit order.
+     */
+    public List<Long> insertInterest(List<Credit> credits, LocalDateTime timestamp) {
+        Timestamp at = Timestamp.valueOf(timestamp);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO transactions (amount, timestamp, type, status, account_id) VALUES (?, ?, ?, ?, ?)",
+                        new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Credit credit = credits.get(i);
+                        statement.setBigDecimal(1, credit.amount());
+                        statement.setTimestamp(2, at);
+                        statement.setString(3, TransactionType.INTEREST.name());
+                        statement.setString(4, TransactionStatus.COMPLETED.name());
+                        statement.setLong(5, credit.id());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return credits.size();
+                    }
+                },
+                keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+    }
+
+    /**
+     * Posts {@code balance * interest} to every due account of one type in {@code [startId, endId)}
+     * and inserts the matching {@code INTEREST} transactions and ledger journals, all in a single
+     * statement.
+     *
+     * @return The credit of every account the period was posted to, including the ones earning nothing.
+     */
+    public List<Credit> postSetBased(String period, AccountType accountType, long startId, long endId, LocalDateTime timestamp) {
+        Timestamp at = Timestamp.valueOf(timestamp);
+        return jdbcTemplate.query(SET_BASED_POSTING,
+                (resultSet, row) -> new Credit(resultSet.getLong("id"), resultSet.getBigDecimal("amount")),
+                accountType.name(), startId, endId, period,
+                period,
+                at, TransactionType.INTEREST.name(), TransactionStatus.COMPLETED.name(),
+                at, at);
+    }
+
+    public void completeChunk(String period, long startId, int accounts, LocalDateTime completedAt) {
+        jdbcTemplate.update(
+                "UPDATE interest_run_chunks SET accounts = accounts + ?, completed_at = ? WHERE period = ? AND start_id = ?",
+                accounts, Timestamp.valueOf(completedAt), period, startId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.backend.bank.repository;
+
+import com.backend.bank.entity.enums.EntryDirection;
+import com.backend.bank.entity.enums.LedgerBook;
+import com.backend.bank.entity.enums.LedgerEntryType;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to the append-only {@code ledger_entries} journal.
+ * <p>
+ * There is deliberately no update or delete: a correction is a new journal. Inserts run on
+ * the connection of the surrounding transaction, together with the balance projection update.
+ */
+@Repository
+public class LedgerRepository {
+
+    private static final String OPENING_BALANCES =
+            "WITH opening AS MATERIALIZED (" +
+                    "SELECT gen_random_uuid() AS journal_id, a.id AS account_id, " +
+                    "a.balance - COALESCE(SUM(CASE e.direction WHEN 'CREDIT' THEN e.amount ELSE -e.amount END), 0) AS amount " +
+                    "FROM accounts a LEFT JOIN ledger_entries e ON e.account_id = a.id AND e.book = 'CUSTOMER_ACCOUNT' " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM ledger_entries o WHERE o.account_id = a.id AND o.type = 'OPENING_BALANCE') " +
+                    "GROUP BY a.id, a.balance) " +
+            "INSERT INTO ledger_entries (journal_id, account_id, book, direction, amount, type, created_at) " +
+            "SELECT journal_id, account_id, 'CUSTOMER_ACCOUNT', CASE WHEN amount > 0 THEN 'CREDIT' ELSE 'DEBIT' END, " +
+                    "ABS(amount), 'OPENING_BALANCE', ? FROM opening WHERE amount <> 0 " +
+            "UNION ALL " +
+            "SELECT journal_id, NULL, 'OPENING_EQUITY', CASE WHEN amount > 0 THEN 'DEBIT' ELSE 'CREDIT' END, " +
+                    "ABS(amount), 'OPENING_BALANCE', ? FROM opening WHERE amount <> 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Entry(
+            UUID journalId,
+            Long accountId,
+            LedgerBook book,
+            EntryDirection direction,
+            BigDecimal amount,
+            LedgerEntryType type,
+            Long transactionId
+    ) {
+    }
+
+    /**
+     * Inserts the entries in one JDBC batch.
+     */
+    public void insertAll(List<Entry> entries, LocalDateTime createdAt) {
+        Timestamp at = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ledger_entries (journal_id, account_id, book, direction, amount, type, transaction_id, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                entries.stream()
+                        .map(entry -> new Object[]{
+                                entry.journalId(),
+                                entry.accountId(),
+                                entry.book().name(),
+                                entry.direction().name(),
+                                entry.amount(),
+                                entry.type().name(),
+                                entry.transactionId(),
+                                at
+                        })
+                        .toList());
+    }
+
+    /**
+     * The balance of an account rebuilt from its ledger legs alone.
+     */
+    public BigDecimal sumBalance(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE direction WHEN 'CREDIT' THEN amount ELSE -amount END), 0) " +
+                        "FROM ledger_entries WHERE account_id = ? AND book = ?",
+                BigDecimal.class, accountId, LedgerBook.CUSTOMER_ACCOUNT.name());
+    }
+
+    /**
+     * Books an {@code OPENING_BALANCE} journal for every account whose balance predates the
+     * ledger, for the part of the balance its existing legs do not explain. Serialized across
+     * instances by an advisory lock held until the transaction ends.
+     *
+     * @return The number of entries inserted.
+     */
+    public int insertOpeningBalances(LocalDateTime createdAt) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('ledger_opening_balances'))");
+        Timestamp at = Timestamp.valueOf(createdAt);
+        return jdbcTemplate.update(OPENING_BALANCES, at, at);
+    }
+}
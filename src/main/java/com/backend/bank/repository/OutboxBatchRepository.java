@@ -0,0 +1,55 @@
+package com.backend.bank.repository;
+
+import com.backend.bank.entity.enums.OutboxMessageType;
+import com.backend.bank.entity.enums.OutboxStatus;
+import com.backend.bank.security.data.DatabaseCipher;
+import com.backend.bank.security.data.EncryptionAttributeConverter;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * JDBC batched writes to {@code notification_outbox} for notices produced in bulk.
+ * <p>
+ * Runs on the connection of the surrounding transaction, so the notices commit or roll back
+ * with the change they report. The body is encrypted through the same converter the
+ * {@link com.backend.bank.entity.OutboxMessage} entity uses.
+ */
+@Repository
+public class OutboxBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EncryptionAttributeConverter encryptionAttributeConverter;
+
+    public OutboxBatchRepository(JdbcTemplate jdbcTemplate, DatabaseCipher databaseCipher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionAttributeConverter = new EncryptionAttributeConverter(databaseCipher);
+    }
+
+    /**
+     * Queues one {@code INTEREST_RECEIVED} notice per account in one JDBC batch. The body holds
+     * the earned amount, the account holder is only looked up when the notice is dispatched.
+     */
+    public void insertInterestReceived(Map<Long, BigDecimal> interestByAccountId, String subject, LocalDateTime createdAt) {
+        Timestamp at = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification_outbox (type, recipient_account_id, subject, body, status, attempts, next_attempt_at, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, 0, ?, ?)",
+                interestByAccountId.entrySet().stream()
+                        .map(interest -> new Object[]{
+                                OutboxMessageType.INTEREST_RECEIVED.name(),
+                                interest.getKey(),
+                                subject,
+                                encryptionAttributeConverter.convertToDatabaseColumn(interest.getValue().toPlainString()),
+                                OutboxStatus.PENDING.name(),
+                                at,
+                                at})
+                        .toList());
+    }
+}
@@ -0,0 +1,31 @@
+package com.backend.bank.repository;
+
+import com.backend.bank.entity.OutboxMessage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest messages that are due: pending ones, and claimed ones whose lease ran out
+     * because their dispatcher died. Rows locked by another dispatcher are skipped, so instances
+     * drain the outbox side by side without claiming a message twice.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockDue(LocalDateTime now, int limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = com.backend.bank.entity.enums.OutboxStatus.SENT " +
+            "AND m.sentAt < :sentBefore")
+    int deleteSentBefore(LocalDateTime sentBefore);
+}
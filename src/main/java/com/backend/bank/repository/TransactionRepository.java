@@ -4,15 +4,23 @@ import com.backend.bank.entity.Customer;
 import com.backend.bank.entity.Transaction;
 import com.backend.bank.entity.enums.TransactionType;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    Page<Transaction> findByAccountId(Long accountId, Pageable pageable);
-
     Page<Transaction> findAllByAccount_AccountHolder(Customer account_accountHolder, Pageable pageable);
 
     Page<Transaction> findAllByTypeAndAccount_AccountHolder(TransactionType type, Customer account_accountHolder, Pageable pageable);
@@ -25,5 +33,67 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     Transaction findById(long id);
 
-    Page<Transaction> findByAccount_AccountNumber(String account_accountNumber, Pageable pageable);
-}
\ No newline at end of file
+    Page<Transaction> findByAccount_AccountNumberIndex(String accountNumberIndex, Pageable pageable);
+
+    String ACCOUNT_HISTORY_BRANCHES =
+            "(SELECT t.* FROM transactions t WHERE t.account_id = :accountId " +
+            "AND (t.timestamp, t.id) < (:timestamp, :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT t.* FROM transactions t " +
+            "WHERE t.transfer_to_account = (SELECT a.account_number FROM accounts a WHERE a.id = :accountId) " +
+            "AND (t.timestamp, t.id) < (:timestamp, :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC LIMIT :limit)";
+
+    /**
+     * Sent and received transactions of an account before a keyset position, newest first.
+     * Each side is read in index order and at most {@code limit} rows are merged.
+     */
+    @Query(value = "SELECT h.* FROM (" + ACCOUNT_HISTORY_BRANCHES + ") h " +
+            "ORDER BY h.timestamp DESC, h.id DESC LIMIT :limit", nativeQuery = true)
+    List<Transaction> findHistoryBefore(Long accountId, LocalDateTime timestamp, Long id, int limit);
+
+    /**
+     * One offset page of the sent and received transactions of an account, newest first.
+     * {@code limit} must be {@code offset + size}.
+     */
+    @Query(value = "SELECT h.* FROM (" + ACCOUNT_HISTORY_BRANCHES + ") h " +
+            "ORDER BY h.timestamp DESC, h.id DESC LIMIT :size OFFSET :offset", nativeQuery = true)
+    List<Transaction> findHistoryPage(Long accountId, LocalDateTime timestamp, Long id, int limit, int size, int offset);
+
+    @Query("SELECT t FROM Transaction t " +
+            "WHERE t.account.id = :accountId AND t.type = :type " +
+            "AND (t.timestamp, t.id) < (:timestamp, :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findHistoryByTypeBefore(Long accountId, TransactionType type, LocalDateTime timestamp, Long id, Limit limit);
+
+    List<Transaction> findByAccount_IdAndTypeOrderByTimestampDescIdDesc(Long accountId, TransactionType type, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t " +
+            "WHERE t.transferToAccount = (SELECT a.accountNumber FROM Account a WHERE a.id = :accountId) " +
+            "AND t.type = com.backend.bank.entity.enums.TransactionType.TRANSFER " +
+            "AND (t.timestamp, t.id) < (:timestamp, :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findReceivedHistoryBefore(Long accountId, LocalDateTime timestamp, Long id, Limit limit);
+
+    @Query("SELECT t FROM Transaction t " +
+            "WHERE t.transferToAccount = (SELECT a.accountNumber FROM Account a WHERE a.id = :accountId) " +
+            "AND t.type = com.backend.bank.entity.enums.TransactionType.TRANSFER " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findReceivedHistory(Long accountId, Pageable pageable);
+
+    /**
+     * Every sent and received transaction of an account, newest first, read through a cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t " +
+            "WHERE t.account.id = :accountId " +
+            "OR t.transferToAccount = (SELECT a.accountNumber FROM Account a WHERE a.id = :accountId) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    Stream<Transaction> streamHistory(Long accountId);
+}
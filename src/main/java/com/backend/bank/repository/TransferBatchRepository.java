@@ -0,0 +1,109 @@
+package com.backend.bank.repository;
+
+import com.backend.bank.entity.enums.AccountStatus;
+import com.backend.bank.entity.enums.TransactionStatus;
+import com.backend.bank.entity.enums.TransactionType;
+import com.backend.bank.security.data.DatabaseCipher;
+import com.backend.bank.security.data.EncryptionAttributeConverter;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batched writes for bulk transfers.
+ * <p>
+ * Runs on the connection of the surrounding JPA transaction, so it must only be called
+ * inside one. Encrypted columns are written through the same converter the entities use.
+ */
+@Repository
+public class TransferBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EncryptionAttributeConverter encryptionAttributeConverter;
+
+    public TransferBatchRepository(JdbcTemplate jdbcTemplate, DatabaseCipher databaseCipher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionAttributeConverter = new EncryptionAttributeConverter(databaseCipher);
+    }
+
+    public record Posting(int index, Long recipientId, String transferToAccount, BigDecimal amount) {
+    }
+
+    /**
+     * Reads the balance of an account and holds its row lock until the transaction ends.
+     */
+    public BigDecimal lockBalance(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE id = ? FOR UPDATE", BigDecimal.class, accountId);
+    }
+
+    /**
+     * Debits the sender once for the whole chunk.
+     *
+     * @return {@code 1} if the balance was debited, {@code 0} otherwise.
+     */
+    public int debit(Long accountId, BigDecimal amount) {
+        return jdbcTemplate.update(
+                "UPDATE accounts SET balance = balance - ? WHERE id = ? AND balance >= ? AND account_status = ?",
+                amount, accountId, amount, AccountStatus.ACTIVE.name());
+    }
+
+    /**
+     * Credits every recipient in one JDBC batch.
+     *
+     * @return The affected row count per posting, {@code 0} where the recipient is no longer active.
+     */
+    public int[] creditAll(List<Posting> postings) {
+        return jdbcTemplate.batchUpdate(
+                "UPDATE accounts SET balance = balance + ? WHERE id = ? AND account_status = ?",
+                postings.stream()
+                        .map(posting -> new Object[]{posting.amount(), posting.recipientId(), AccountStatus.ACTIVE.name()})
+                        .toList());
+    }
+
+    /**
+     * Inserts a completed {@code TRANSFER} transaction per posting in one JDBC batch.
+     *
+     * @return The generated transaction ids, in posting order.
+     */
+    public List<Long> insertTransfers(Long accountId, List<Posting> postings, LocalDateTime timestamp) {
+        Timestamp at = Timestamp.valueOf(timestamp);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO transactions (amount, timestamp, type, status, transfer_to_account, account_id) " +
+                                "VALUES (?, ?, ?, ?, ?, ?)",
+                        new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Posting posting = postings.get(i);
+                        statement.setBigDecimal(1, posting.amount());
+                        statement.setTimestamp(2, at);
+                        statement.setString(3, TransactionType.TRANSFER.name());
+                        statement.setString(4, TransactionStatus.COMPLETED.name());
+                        statement.setString(5, encryptionAttributeConverter.convertToDatabaseColumn(posting.transferToAccount()));
+                        statement.setLong(6, accountId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return postings.size();
+                    }
+                },
+                keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+    }
+}
@@ -1,6 +1,7 @@
 package com.backend.bank.security;
 
 import com.backend.bank.security.auth.JwtAuthenticationFilter;
+import com.backend.bank.security.auth.TokenRevocationLogoutHandler;
 
 import lombok.RequiredArgsConstructor;
 
@@ -40,6 +41,8 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
 
+    private final TokenRevocationLogoutHandler tokenRevocationLogoutHandler;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
@@ -77,6 +80,7 @@ public class SecurityConfig {
             .logout(logout -> logout
                 .permitAll()
                 .logoutUrl("/auth/logout")
+                .addLogoutHandler(tokenRevocationLogoutHandler)
                 .deleteCookies("Authorization", "JSESSIONID", "AUTHORIZATION")
                 .invalidateHttpSession(true)
                 .clearAuthentication(true)
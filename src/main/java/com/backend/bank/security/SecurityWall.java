@@ -1,16 +1,19 @@
 package com.backend.bank.security;
 
-import com.backend.bank.entity.Account;
+import com.backend.bank.dto.CachedAccount;
 import com.backend.bank.entity.Customer;
 import com.backend.bank.exception.AccountNotExistException;
-import com.backend.bank.exception.UnauthorizedAccessException;
-import com.backend.bank.repository.AccountRepository;
 import com.backend.bank.repository.CustomerRepository;
+import com.backend.bank.security.auth.TokenPrincipal;
+import com.backend.bank.security.data.BlindIndex;
+import com.backend.bank.security.data.OpaqueIdCodec;
+import com.backend.bank.utils.AccountCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AccountExpiredException;
 import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,32 +27,45 @@ import java.util.stream.Collectors;
 @Component
 public class SecurityWall {
 
-    private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
 
     private final CustomerRepository customerRepository;
 
-    public SecurityWall(AccountRepository accountRepository, CustomerRepository customerRepository) {
-        this.accountRepository = accountRepository;
+    private final BlindIndex blindIndex;
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    public SecurityWall(
+            AccountCache accountCache,
+            CustomerRepository customerRepository,
+            BlindIndex blindIndex,
+            OpaqueIdCodec opaqueIdCodec
+    ) {
+        this.accountCache = accountCache;
         this.customerRepository = customerRepository;
+        this.blindIndex = blindIndex;
+        this.opaqueIdCodec = opaqueIdCodec;
     }
 
+    /**
+     * Stateless principals carry the id of the account they own, anyone else is checked
+     * against the cached owner of the account.
+     */
     public boolean canAccessAccount(Long accountId) {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotExistException("This Account does not exist" + accountId));
-
-        if (account == null) {
-            throw new UnauthorizedAccessException("You are not authorized to access this resource!");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof TokenPrincipal principal) {
+            return opaqueIdCodec.encode(accountId).equals(principal.accountId());
         }
 
-        Customer customer = account.getAccountHolder();
-        return customer.getUsername().equals(userDetails.getUsername());
+        CachedAccount account = accountCache.get(accountId)
+                .orElseThrow(() -> new AccountNotExistException("This Account does not exist" + accountId));
+        return blindIndex.email(authentication.getName()).equals(account.ownerEmailIndex());
     }
 
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
-            Customer customer = customerRepository.findByEmail(username).orElse(null);
+            Customer customer = customerRepository.findByEmailIndex(blindIndex.email(username)).orElse(null);
 
             if (customer == null) {
                 throw new UsernameNotFoundException("User not found: " + username);
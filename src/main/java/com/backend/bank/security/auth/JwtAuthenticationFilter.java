@@ -1,16 +1,21 @@
 package com.backend.bank.security.auth;
 
+import com.backend.bank.entity.enums.AccountStatus;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.io.IOException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AccountExpiredException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,21 +23,56 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.util.List;
+
+/**
+ * Authenticates bearer tokens.
+ * <p>
+ * By default the subject is resolved to its current {@link UserDetails} through the principal
+ * cache. With {@code security.jwt.stateless=true} the request is authorized from the signed
+ * claims alone: role, account and account status come from the token, and the only check
+ * beyond the signature is the in-memory {@link TokenDenylist}. Tokens revoked one by one,
+ * on logout, are rejected in both modes through the {@link RevokedTokenRegistry}.
+ */
 @Log4j2
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
 
     private final ApplicationContext applicationContext;
 
+    private final PrincipalCache principalCache;
+
+    private final TokenDenylist tokenDenylist;
+
+    private final RevokedTokenRegistry revokedTokenRegistry;
+
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(
+            JwtProvider jwtProvider,
+            ApplicationContext applicationContext,
+            PrincipalCache principalCache,
+            TokenDenylist tokenDenylist,
+            RevokedTokenRegistry revokedTokenRegistry,
+            @Value("${security.jwt.stateless:false}") boolean stateless
+    ) {
+        this.jwtProvider = jwtProvider;
+        this.applicationContext = applicationContext;
+        this.principalCache = principalCache;
+        this.tokenDenylist = tokenDenylist;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.stateless = stateless;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws IOException, java.io.IOException {
         try {
             String requestTokenHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
             String jwt;
+            Claims claims;
             String username;
 
             if (requestTokenHeader == null || !requestTokenHeader.startsWith("Bearer ")) {
@@ -41,24 +81,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             jwt = requestTokenHeader.substring(7);
-            username = jwtProvider.extractUserName(jwt);
+            claims = jwtProvider.extractAllClaims(jwt);
+            username = claims.getSubject();
+
+            if (revokedTokenRegistry.isRevoked(claims)) {
+                throw new JwtException("Revoked JWT token");
+            }
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = applicationContext.getBean(UserDetailsService.class).loadUserByUsername(username);
-
-                if (jwtProvider.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken  = new UsernamePasswordAuthenticationToken(
-                            userDetails.getUsername(), null, userDetails.getAuthorities()
-                    );
-                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-                } else {
-                    throw new JwtException("Invalid JWT token");
-                }
+                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = stateless
+                        ? authenticateFromClaims(claims)
+                        : authenticateFromUserDetails(claims, username);
+                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
             }
             filterChain.doFilter(request, response);
         }catch (IOException |ServletException e) {
             throw new JwtException(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(Claims claims, String username) {
+        UserDetails userDetails = principalCache.get(username,
+                () -> applicationContext.getBean(UserDetailsService.class).loadUserByUsername(username));
+
+        if (!jwtProvider.isTokenValid(claims, userDetails)) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails.getUsername(), null, userDetails.getAuthorities()
+        );
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        String role = claims.get(JwtProvider.ROLE_CLAIM, String.class);
+        String accountId = claims.get(JwtProvider.ACCOUNT_CLAIM, String.class);
+        String accountStatus = claims.get(JwtProvider.ACCOUNT_STATUS_CLAIM, String.class);
+
+        if (role == null || accountId == null || accountStatus == null || jwtProvider.isTokenExpired(claims)) {
+            throw new JwtException("Invalid JWT token");
+        }
+        if (tokenDenylist.isRevoked(claims)) {
+            throw new JwtException("Revoked JWT token");
+        }
+        if (AccountStatus.INACTIVE.name().equals(accountStatus)) {
+            throw new AccountExpiredException("Account Expired");
+        }
+        if (!AccountStatus.ACTIVE.name().equals(accountStatus)) {
+            throw new LockedException("Account is Locked");
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+                new TokenPrincipal(claims.getSubject(), accountId), null, List.of(new SimpleGrantedAuthority(role))
+        );
+    }
+}
@@ -1,7 +1,13 @@
 package com.backend.bank.security.auth;
 
+import com.backend.bank.entity.Customer;
 import com.backend.bank.exception.InvalidSecretTokenException;
 import com.backend.bank.exception.TokenExpiredException;
+import com.backend.bank.security.data.OpaqueIdCodec;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,6 +18,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Function;
 
@@ -19,15 +27,48 @@ import java.util.function.Function;
 @Configuration
 public class JwtProvider {
 
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    public static final String ROLE_CLAIM = "role";
+
+    public static final String ACCOUNT_CLAIM = "account";
+
+    public static final String ACCOUNT_STATUS_CLAIM = "account_status";
+
+    private final String issuer;
+
+    private final SecretKey signingKey;
 
-    @Value("${security.jwt.issuer}")
-    private String issuer;
+    private final JwtParser parser;
+
+    private final Cache<String, Claims> verifiedTokens;
+
+    private final OpaqueIdCodec opaqueIdCodec;
 
     private final Long ONE_HOUR = 60 * 60 * 1000L;
 
-    public String generateToken(UserDetails userDetails) {
+    public JwtProvider(
+            @Value("${security.jwt.secret-key}") String secretKey,
+            @Value("${security.jwt.issuer}") String issuer,
+            @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            OpaqueIdCodec opaqueIdCodec
+    ) {
+        this.issuer = issuer;
+        this.opaqueIdCodec = opaqueIdCodec;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secretKey));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofMillis(ONE_HOUR * 8))
+                .build();
+    }
+
+    /**
+     * {@code Generates} an access token. Besides the authorities it carries the role, the opaque
+     * id and the status of the customer's account, which is everything a request needs to be
+     * authorized without reading the database when {@code security.jwt.stateless} is on.
+     */
+    public String generateToken(Customer customer) {
         Map<String, Object> headers = new HashMap<>();
         headers.put("type", "token");
         return Jwts.builder()
@@ -35,11 +76,15 @@ public class JwtProvider {
                 .add(headers)
                 .and()
                 .issuer(issuer)
-                .subject(userDetails.getUsername())
-                .claim("authority", userDetails.getAuthorities())
+                .id(UUID.randomUUID().toString())
+                .subject(customer.getUsername())
+                .claim("authority", customer.getAuthorities())
+                .claim(ROLE_CLAIM, customer.getRole().name())
+                .claim(ACCOUNT_CLAIM, opaqueIdCodec.encode(customer.getAccount().getId()))
+                .claim(ACCOUNT_STATUS_CLAIM, customer.getAccount().getAccountStatus().name())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + ONE_HOUR))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -51,11 +96,12 @@ public class JwtProvider {
                 .add(headers)
                 .and()
                 .issuer(issuer)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .claims(extraClaims)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + (ONE_HOUR * 8)) )
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -64,55 +110,49 @@ public class JwtProvider {
         return claimsResolvers.apply(claims);
     }
 
-    private SecretKey getSigningKey() {
-        byte[] key = Decoders.BASE64URL.decode(secretKey);
-        return Keys.hmacShaKeyFor(key);
-    }
-
+    /**
+     * {@code Verifies} a token and returns its claims. The signature is checked once per token,
+     * the claims of recently verified tokens are served from a bounded cache keyed by the token
+     * hash until the token expires.
+     *
+     * @throws TokenExpiredException       If the token has expired.
+     * @throws InvalidSecretTokenException If the token is malformed or its signature is invalid.
+     */
     public Claims extractAllClaims(String token) {
+        String tokenHash = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims != null) {
+            if (isTokenExpired(claims)) {
+                verifiedTokens.invalidate(tokenHash);
+                throw new TokenExpiredException("Token Expired: " + claims.getExpiration());
+            }
+            return claims;
+        }
+
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             throw new TokenExpiredException("Token Expired: " + e.getMessage());
         } catch (JwtException e) {
             log.error("Invalid secret key or tampered token: {}", e.getMessage(), e);
             throw new InvalidSecretTokenException("Invalid Token");
         }
+        verifiedTokens.put(tokenHash, claims);
+        return claims;
     }
 
     public String extractUserName(String token) {
         return extractClaims(token, Claims::getSubject);
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        return username.equals(userDetails.getUsername()) &&
-                !isTokenExpired(token) &&
-                isValidSecretKey(token);
+    /**
+     * {@code Checks} verified claims against the principal they were resolved to.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    public boolean isTokenExpired(String token) {
-        final Date expiration = extractClaims(token, Claims::getExpiration);
-        return expiration.before(new Date());
-    }
-
-    public boolean isValidSecretKey(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
-            log.error("Invalid signature: {}", e.getMessage(), e);
-            return false;
-        } catch (Exception e) {
-            log.error("Unexpected error: {}", e.getMessage(), e);
-            throw e;
-        }
+    public boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
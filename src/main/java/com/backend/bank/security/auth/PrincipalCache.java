@@ -0,0 +1,78 @@
+package com.backend.bank.security.auth;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Short lived cache of the {@link UserDetails} resolved for a token subject, over the
+ * {@code principals} cache.
+ * <p>
+ * Entries expire after {@code cache.principals.spec}, and are evicted when the customer's
+ * password, email or account status changes: when the change is made and again once its
+ * transaction completes. As in the account cache, a load only fills the cache if no eviction
+ * of its stripe happened while it read the database.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principals";
+
+    private static final int STRIPES = 256;
+
+    private final Cache cache;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public PrincipalCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    public UserDetails get(String username, Supplier<UserDetails> loader) {
+        UserDetails cached = cache.get(username, UserDetails.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(username);
+        long generation = generations.get(stripe);
+        UserDetails loaded = loader.get();
+        if (generations.get(stripe) == generation) {
+            cache.put(username, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the subject now, and again when the current transaction completes if there is one.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        evictNow(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(username);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String username) {
+        generations.incrementAndGet(stripe(username));
+        cache.evict(username);
+    }
+
+    private static int stripe(String username) {
+        return username.hashCode() & (STRIPES - 1);
+    }
+}
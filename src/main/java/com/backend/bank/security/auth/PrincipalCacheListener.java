@@ -0,0 +1,34 @@
+package com.backend.bank.security.auth;
+
+import com.backend.bank.entity.Account;
+import com.backend.bank.entity.Customer;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached principal whenever the customer or their account is updated or removed,
+ * which covers password and account status changes whichever service makes them. An email
+ * change also has to evict the previous email, which only the changing service knows.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(Object entity) {
+        switch (entity) {
+            case Customer customer -> principalCache.evict(customer.getEmail());
+            case Account account when account.getAccountHolder() != null -> principalCache.evict(account.getAccountHolder().getEmail());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.backend.bank.security.auth;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import io.jsonwebtoken.Claims;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <pre>
+ * Individually revoked tokens, such as the bearer token of a logout.
+ * Revoked token ids are grouped into buckets by the expiry of the token:
+ * </pre>
+ *
+ * <dl>
+ *   <dt>{@code bloom}</dt>
+ *   <dd>Bloom filter of the ids revoked in the bucket. A lookup hashes the id once and</dd>
+ *   <dd>answers most tokens, which were never revoked, without touching anything else.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code ids}</dt>
+ *   <dd>The exact ids of the bucket, only consulted when the filter reports a match,</dd>
+ *   <dd>so a false positive never rejects a valid token.</dd>
+ * </dl>
+ *
+ * A token only lands in the bucket covering its own expiry, so once that window has passed
+ * every token of the bucket is rejected as expired anyway and the whole bucket is dropped.
+ * Memory follows the revocations of the still valid tokens, never the total over a day.
+ * The registry is per instance, like the {@link TokenDenylist}.
+ */
+@Log4j2
+@Component
+public class RevokedTokenRegistry {
+
+    private final long bucketMillis;
+
+    private final int expectedPerBucket;
+
+    private final double falsePositiveRate;
+
+    private final ConcurrentNavigableMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    public RevokedTokenRegistry(
+            @Value("${security.jwt.revocation.bucket-width:PT5M}") Duration bucketWidth,
+            @Value("${security.jwt.revocation.expected-per-bucket:100000}") int expectedPerBucket,
+            @Value("${security.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this.bucketMillis = bucketWidth.toMillis();
+        this.expectedPerBucket = expectedPerBucket;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Revokes the token until it expires. Tokens without an id or an expiry cannot be revoked
+     * individually and are ignored.
+     */
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null || isExpired(claims.getExpiration())) {
+            return;
+        }
+        buckets.computeIfAbsent(bucketOf(claims.getExpiration()), key -> newBucket())
+                .add(claims.getId());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return false;
+        }
+        Bucket bucket = buckets.get(bucketOf(claims.getExpiration()));
+        return bucket != null && bucket.contains(claims.getId());
+    }
+
+    /**
+     * Drops the buckets whose tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval:PT1M}")
+    public void purgeExpired() {
+        Map<Long, Bucket> expired = buckets.headMap(bucketOf(new Date()));
+        if (!expired.isEmpty()) {
+            int count = expired.size();
+            int tokens = expired.values().stream().mapToInt(Bucket::size).sum();
+            expired.clear();
+            log.debug("Dropped {} revocation buckets holding {} expired tokens", count, tokens);
+        }
+    }
+
+    private long bucketOf(Date expiration) {
+        return expiration.getTime() / bucketMillis;
+    }
+
+    private boolean isExpired(Date expiration) {
+        return expiration.before(new Date());
+    }
+
+    private Bucket newBucket() {
+        return new Bucket(
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedPerBucket, falsePositiveRate),
+                ConcurrentHashMap.newKeySet());
+    }
+
+    private record Bucket(BloomFilter<CharSequence> bloom, Set<String> ids) {
+
+        void add(String id) {
+            ids.add(id);
+            bloom.put(id);
+        }
+
+        boolean contains(String id) {
+            return bloom.mightContain(id) && ids.contains(id);
+        }
+
+        int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.backend.bank.security.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.jsonwebtoken.Claims;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * In-memory denylist for tokens authorized from their claims alone.
+ * <p>
+ * Revoking a subject rejects every token issued to it up to that moment, a token issued
+ * later is accepted again. Issued-at has second precision, so a token issued in the same
+ * second as the revocation is rejected as well. Entries are kept for
+ * {@code security.jwt.denylist-retention}, which must not be shorter than the lifetime of
+ * the tokens it guards. The list is per instance, every instance applies its own revocations.
+ */
+@Component
+public class TokenDenylist {
+
+    private final Cache<String, Instant> revocations;
+
+    public TokenDenylist(@Value("${security.jwt.denylist-retention:PT8H}") Duration retention) {
+        this.revocations = CacheBuilder.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public void revoke(String subject) {
+        if (subject != null) {
+            revocations.put(subject, Instant.now());
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        Instant revokedAt = revocations.getIfPresent(claims.getSubject());
+        return revokedAt != null
+                && (claims.getIssuedAt() == null || !claims.getIssuedAt().toInstant().isAfter(revokedAt));
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.bank.security.auth;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a request authorized from token claims alone.
+ *
+ * @param username  The token subject.
+ * @param accountId The opaque id of the account owned by the subject.
+ */
+public record TokenPrincipal(String username, String accountId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.bank.security.auth;
+
+import com.backend.bank.entity.Account;
+import com.backend.bank.entity.enums.AccountStatus;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Revokes the tokens of an account holder as soon as their account is written with a status
+ * other than {@code ACTIVE} or removed, so a freeze or ban takes effect on stateless tokens
+ * without waiting for them to expire.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+
+    private final TokenDenylist tokenDenylist;
+
+    @PostUpdate
+    public void statusChanged(Account account) {
+        if (account.getAccountStatus() != AccountStatus.ACTIVE && account.getAccountHolder() != null) {
+            tokenDenylist.revoke(account.getAccountHolder().getEmail());
+        }
+    }
+
+    @PostRemove
+    public void removed(Account account) {
+        if (account.getAccountHolder() != null) {
+            tokenDenylist.revoke(account.getAccountHolder().getEmail());
+        }
+    }
+}
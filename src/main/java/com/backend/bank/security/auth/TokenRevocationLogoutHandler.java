@@ -0,0 +1,45 @@
+package com.backend.bank.security.auth;
+
+import io.jsonwebtoken.Claims;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revokes the bearer token of a logout request, so it stops authenticating right away
+ * instead of at its expiry. A token that is already invalid has nothing left to revoke.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationLogoutHandler implements LogoutHandler {
+
+    private final JwtProvider jwtProvider;
+
+    private final RevokedTokenRegistry revokedTokenRegistry;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String requestTokenHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (requestTokenHeader == null || !requestTokenHeader.startsWith("Bearer ")) {
+            return;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtProvider.extractAllClaims(requestTokenHeader.substring(7));
+        } catch (RuntimeException e) {
+            log.debug("Logout with an unusable token: {}", e.getMessage());
+            return;
+        }
+        revokedTokenRegistry.revoke(claims);
+    }
+}
@@ -0,0 +1,73 @@
+package com.backend.bank.security.data;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Keyed HMAC-SHA256 blind index of the encrypted lookup columns.
+ * <p>
+ * Equality lookups go through the {@code *_index} columns instead of encrypting the probe
+ * value, so the payload columns no longer need a deterministic cipher to stay searchable.
+ * Every field is hashed under its own prefix, the same value in two different fields
+ * never produces the same index. The MAC is truncated to 128 bits to keep the btree small.
+ */
+@Component
+public class BlindIndex {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int INDEX_BYTES = 16;
+
+    private final SecretKeySpec key;
+
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public BlindIndex(@Value("${database.blind-index-key}") String blindIndexKey) {
+        this.key = new SecretKeySpec(Base64.getDecoder().decode(blindIndexKey), ALGORITHM);
+    }
+
+    public String email(String email) {
+        return of("email", email);
+    }
+
+    public String phoneNumber(String phoneNumber) {
+        return of("phone_number", phoneNumber);
+    }
+
+    public String accountNumber(String accountNumber) {
+        return of("account_number", accountNumber);
+    }
+
+    public String cardNumber(String cardNumber) {
+        return of("card_number", cardNumber);
+    }
+
+    private String of(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        Mac hmac = mac.get();
+        hmac.update(field.getBytes(StandardCharsets.UTF_8));
+        hmac.update((byte) ':');
+        byte[] digest = hmac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, INDEX_BYTES));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac hmac = Mac.getInstance(ALGORITHM);
+            hmac.init(key);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Blind index initialization error", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.backend.bank.security.data;
+
+import com.backend.bank.repository.AccountRepository;
+import com.backend.bank.repository.CardRepository;
+import com.backend.bank.repository.CustomerRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fills the blind index columns of rows written before the columns existed.
+ * New and updated rows are indexed by {@link BlindIndexListener}, so once this has run
+ * the lookups by {@code *_index} see every row.
+ * <p>
+ * Login, signup and transfers look rows up by their index only, so the backfill runs once
+ * every singleton is created, before the web server is started and accepts requests.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class BlindIndexBackfill implements SmartInitializingSingleton {
+
+    private static final Pageable BATCH = PageRequest.of(0, 500);
+
+    private final CustomerRepository customerRepository;
+
+    private final AccountRepository accountRepository;
+
+    private final CardRepository cardRepository;
+
+    private final BlindIndexListener blindIndexListener;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long customers = backfill(customerRepository::findByEmailIndexIsNullOrPhoneNumberIndexIsNull, customerRepository::saveAll);
+        long accounts = backfill(accountRepository::findByAccountNumberIndexIsNull, accountRepository::saveAll);
+        long cards = backfill(cardRepository::findByCardNumberIndexIsNull, cardRepository::saveAll);
+
+        if (customers + accounts + cards > 0) {
+            log.info("Blind index backfill: {} customers, {} accounts, {} cards", customers, accounts, cards);
+        }
+    }
+
+    private <T> long backfill(Function<Pageable, List<T>> unindexed, Consumer<List<T>> saveAll) {
+        long total = 0;
+        while (true) {
+            Integer indexed = transactionTemplate.execute(status -> {
+                List<T> batch = unindexed.apply(BATCH);
+                batch.forEach(blindIndexListener::apply);
+                saveAll.accept(batch);
+                return batch.size();
+            });
+            if (indexed == null || indexed == 0) {
+                return total;
+            }
+            total += indexed;
+        }
+    }
+}
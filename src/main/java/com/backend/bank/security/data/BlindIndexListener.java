@@ -0,0 +1,37 @@
+package com.backend.bank.security.data;
+
+import com.backend.bank.entity.Account;
+import com.backend.bank.entity.Card;
+import com.backend.bank.entity.Customer;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the blind index columns in step with their plaintext attributes on every write.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlindIndexListener {
+
+    private final BlindIndex blindIndex;
+
+    @PrePersist
+    @PreUpdate
+    public void apply(Object entity) {
+        switch (entity) {
+            case Customer customer -> {
+                customer.setEmailIndex(blindIndex.email(customer.getEmail()));
+                customer.setPhoneNumberIndex(blindIndex.phoneNumber(customer.getPhoneNumber()));
+            }
+            case Account account -> account.setAccountNumberIndex(blindIndex.accountNumber(account.getAccountNumber()));
+            case Card card -> card.setCardNumberIndex(blindIndex.cardNumber(card.getCardNumber()));
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.backend.bank.security.data;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.security.GeneralSecurityException;
+import java.security.spec.KeySpec;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared crypto backend of the column converters.
+ * <p>
+ * The PBKDF2 key is derived once at startup and every thread keeps its own initialized
+ * {@link Cipher} pair, so a column conversion costs one AES call instead of a key
+ * derivation plus a provider lookup.
+ * <p>
+ * Published metrics: {@code database.crypto} timer tagged with {@code operation}
+ * ({@code encrypt} / {@code decrypt}). Its count is the number of conversions and its
+ * total time is the time spent in crypto.
+ */
+@Log4j2
+@Component
+public class DatabaseCipher {
+
+    @Value("${database.secret-key-password}")
+    private String SECRET_KEY_PASSWORD;
+
+    @Value("${database.salt}")
+    private String SALT;
+
+    @Value("${database.iterations}")
+    private int ITERATIONS;
+
+    @Value("${database.algorithm}")
+    private String ALGORITHM;
+
+    @Value("${database.secret-factory.algorithm}")
+    private String SECRET_KEY_FACTORY_ALGORITHM;
+
+    private final Timer encryptTimer;
+
+    private final Timer decryptTimer;
+
+    private SecretKeySpec keySpec;
+
+    private final ThreadLocal<Cipher> encryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+
+    private final ThreadLocal<Cipher> decryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+
+    public DatabaseCipher(MeterRegistry meterRegistry) {
+        this.encryptTimer = Timer.builder("database.crypto")
+                .description("Column encryption conversions")
+                .tag("operation", "encrypt")
+                .register(meterRegistry);
+        this.decryptTimer = Timer.builder("database.crypto")
+                .description("Column decryption conversions")
+                .tag("operation", "decrypt")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void deriveKey() {
+        try {
+            KeySpec spec = new PBEKeySpec(SECRET_KEY_PASSWORD.toCharArray(), SALT.getBytes(), ITERATIONS, 256);
+            SecretKeyFactory skf = SecretKeyFactory.getInstance(SECRET_KEY_FACTORY_ALGORITHM);
+            keySpec = new SecretKeySpec(skf.generateSecret(spec).getEncoded(), ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            log.error(e.getMessage(), e);
+            throw new RuntimeException("Key generation error", e);
+        }
+    }
+
+    public byte[] encrypt(byte[] plain) {
+        long start = System.nanoTime();
+        try {
+            return encryptCipher.get().doFinal(plain);
+        } catch (GeneralSecurityException e) {
+            // a failed doFinal may leave the cipher in an unusable state
+            encryptCipher.remove();
+            throw new RuntimeException("Encryption error", e);
+        } finally {
+            encryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public byte[] decrypt(byte[] encrypted) {
+        long start = System.nanoTime();
+        try {
+            return decryptCipher.get().doFinal(encrypted);
+        } catch (GeneralSecurityException e) {
+            decryptCipher.remove();
+            throw new RuntimeException("Decryption error", e);
+        } finally {
+            decryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            cipher.init(mode, keySpec);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Cipher initialization error", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.bank.security.data;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off migration of the encrypted string ids to native {@code bigint} keys.
+ * <p>
+ * Enabled with {@code database.migrate-legacy-ids=true}. Every legacy id and foreign key
+ * column is decrypted into a {@code <column>_bigint} shadow column, then
+ * {@code db/migration/native-bigint-ids.sql} swaps the shadow columns in and rebuilds the
+ * primary keys, foreign keys and indexes in a single transaction.
+ * <p>
+ * The entity manager factory depends on this bean, so the migration runs on plain JDBC before
+ * Hibernate validates or updates the schema and before the web server accepts requests. It does
+ * nothing on an empty database or once the columns are already {@code bigint}.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "database.migrate-legacy-ids", havingValue = "true")
+public class LegacyIdMigration implements InitializingBean {
+
+    private static final String SCRIPT = "db/migration/native-bigint-ids.sql";
+
+    private static final Map<String, List<String>> ID_COLUMNS = Map.of(
+            "customers", List.of("id"),
+            "accounts", List.of("id", "customer_id"),
+            "transactions", List.of("id", "account_id"),
+            "cards", List.of("id", "customer_id"),
+            "loans", List.of("id", "customer_id"),
+            "verify", List.of("id", "customer_id"),
+            "email_change_token", List.of("id"),
+            "phone_change_token", List.of("id")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSource dataSource;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DatabaseCipher databaseCipher;
+
+    public LegacyIdMigration(JdbcTemplate jdbcTemplate, DataSource dataSource, DatabaseCipher databaseCipher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.databaseCipher = databaseCipher;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long legacyColumns = ID_COLUMNS.entrySet().stream()
+                .flatMap(table -> table.getValue().stream().filter(column -> isLegacy(table.getKey(), column)))
+                .count();
+        long totalColumns = ID_COLUMNS.values().stream().mapToLong(List::size).sum();
+
+        if (legacyColumns == 0) {
+            log.info("Legacy id migration: all id columns are already bigint");
+            return;
+        }
+        if (legacyColumns != totalColumns) {
+            throw new IllegalStateException("Legacy id migration: found a partially migrated schema ("
+                    + legacyColumns + " of " + totalColumns + " id columns still encrypted)");
+        }
+
+        EncryptIdAttributeConverter legacyConverter = new EncryptIdAttributeConverter(databaseCipher);
+        ID_COLUMNS.forEach((table, columns) -> columns.forEach(column -> fillShadowColumn(table, column, legacyConverter)));
+
+        transactionTemplate.executeWithoutResult(status ->
+                new ResourceDatabasePopulator(new ClassPathResource(SCRIPT)).execute(dataSource));
+
+        log.info("Legacy id migration: {} id columns converted to bigint", totalColumns);
+    }
+
+    private boolean isLegacy(String table, String column) {
+        List<String> dataType = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = ? AND column_name = ?",
+                String.class, table, column);
+        return !dataType.isEmpty() && !"bigint".equals(dataType.getFirst());
+    }
+
+    private void fillShadowColumn(String table, String column, EncryptIdAttributeConverter legacyConverter) {
+        String shadow = column + "_bigint";
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + shadow + " bigint");
+
+        List<String> encryptedIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT " + column + " FROM " + table + " WHERE " + column + " IS NOT NULL AND " + shadow + " IS NULL",
+                String.class);
+
+        List<Object[]> updates = encryptedIds.stream()
+                .map(encryptedId -> new Object[]{legacyConverter.convertToEntityAttribute(encryptedId), encryptedId})
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE " + table + " SET " + shadow + " = ? WHERE " + column + " = ?", updates);
+
+        log.info("Legacy id migration: {}.{} -> {} ({} values)", table, column, shadow, updates.size());
+    }
+
+    /**
+     * Makes the entity manager factory wait for the migration.
+     */
+    @Component
+    @ConditionalOnProperty(name = "database.migrate-legacy-ids", havingValue = "true")
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependency() {
+            super(LegacyIdMigration.class);
+        }
+    }
+}
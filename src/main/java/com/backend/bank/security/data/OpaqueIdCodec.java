@@ -0,0 +1,87 @@
+package com.backend.bank.security.data;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Reversible codec between database ids and the opaque ids used by the API.
+ * <p>
+ * An id is encrypted as a single AES block: the 8 id bytes followed by a fixed 8 byte
+ * check value. Decoding rejects anything whose check value does not survive decryption,
+ * so guessed or tampered ids fail to bind instead of resolving to some other row.
+ */
+@Component
+public class OpaqueIdCodec {
+
+    private static final String ALGORITHM = "AES";
+
+    private static final String TRANSFORMATION = "AES/ECB/NoPadding";
+
+    private static final long CHECK = 0x6f70617175652d31L;
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final SecretKeySpec key;
+
+    private final ThreadLocal<Cipher> encryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+
+    private final ThreadLocal<Cipher> decryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+
+    public OpaqueIdCodec(@Value("${security.id-codec.key}") String idCodecKey) {
+        this.key = new SecretKeySpec(Base64.getDecoder().decode(idCodecKey), ALGORITHM);
+    }
+
+    public String encode(Long id) {
+        if (id == null) {
+            return null;
+        }
+        byte[] block = ByteBuffer.allocate(BLOCK_SIZE).putLong(id).putLong(CHECK).array();
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(encryptCipher.get().doFinal(block));
+        } catch (GeneralSecurityException e) {
+            encryptCipher.remove();
+            throw new RuntimeException("Id encoding error", e);
+        }
+    }
+
+    public Long decode(String opaqueId) {
+        if (opaqueId == null) {
+            return null;
+        }
+        byte[] encrypted = Base64.getUrlDecoder().decode(opaqueId);
+        if (encrypted.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("Invalid id: " + opaqueId);
+        }
+
+        ByteBuffer block;
+        try {
+            block = ByteBuffer.wrap(decryptCipher.get().doFinal(encrypted));
+        } catch (GeneralSecurityException e) {
+            decryptCipher.remove();
+            throw new RuntimeException("Id decoding error", e);
+        }
+
+        long id = block.getLong();
+        if (block.getLong() != CHECK) {
+            throw new IllegalArgumentException("Invalid id: " + opaqueId);
+        }
+        return id;
+    }
+
+    private Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, key);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Id codec initialization error", e);
+        }
+    }
+}
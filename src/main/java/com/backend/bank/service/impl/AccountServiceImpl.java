@@ -10,6 +10,8 @@ import com.backend.bank.exception.AccountNotExistException;
 import com.backend.bank.exception.IllegalAccountTypeException;
 import com.backend.bank.exception.InputViolationException;
 import com.backend.bank.repository.AccountRepository;
+import com.backend.bank.security.auth.PrincipalCache;
+import com.backend.bank.security.auth.TokenDenylist;
 import com.backend.bank.service.intf.AccountService;
 import com.backend.bank.utils.RequestValidator;
 
@@ -27,6 +29,10 @@ public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
 
+    private final PrincipalCache principalCache;
+
+    private final TokenDenylist tokenDenylist;
+
     private final RequestValidator<UpgradeAccountRequest> upgradeAccountRequestValidator;
 
     private final RequestValidator<UpdateCustomerInfoRequest> updateCustomerInfoRequestValidator;
@@ -77,6 +83,10 @@ public class AccountServiceImpl implements AccountService {
 
         account.getAccountHolder().setFirstName(newFirstName);
         account.getAccountHolder().setLastName(newLastName);
+        principalCache.evict(account.getAccountHolder().getEmail());
+        if (!account.getAccountHolder().getEmail().equals(newEmail)) {
+            tokenDenylist.revoke(account.getAccountHolder().getEmail());
+        }
         account.getAccountHolder().setEmail(newEmail);
         account.getAccountHolder().setPhoneNumber(newPhoneNumber);
         accountRepository.save(account);
@@ -19,6 +19,9 @@ import com.backend.bank.repository.AccountRepository;
 import com.backend.bank.repository.CustomerRepository;
 import com.backend.bank.repository.EmailChangeTokenRepository;
 import com.backend.bank.repository.PhoneChangeTokenRepository;
+import com.backend.bank.security.auth.PrincipalCache;
+import com.backend.bank.security.auth.TokenDenylist;
+import com.backend.bank.security.data.BlindIndex;
 import com.backend.bank.service.intf.CustomerService;
 import com.backend.bank.service.intf.NotificationService;
 import com.backend.bank.service.intf.OtpService;
@@ -65,6 +68,12 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
 
     OtpService otpService;
 
+    BlindIndex blindIndex;
+
+    PrincipalCache principalCache;
+
+    TokenDenylist tokenDenylist;
+
     RequestValidator<ChangePasswordRequest> changePasswordRequestValidator;
 
     RequestValidator<ChangeEmailRequest> changeEmailRequestValidator;
@@ -75,7 +84,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Customer customer = customerRepository.findByEmail(username)
+        Customer customer = customerRepository.findByEmailIndex(blindIndex.email(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return new org.springframework.security.core.userdetails.User(
@@ -88,7 +97,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
     @Override
     public UserDetailsService userDetailsService() {
         return username -> {
-            Customer customer =  customerRepository.findByEmail(username).orElse(null);
+            Customer customer =  customerRepository.findByEmailIndex(blindIndex.email(username)).orElse(null);
             if (customer == null) {
                 throw new AccountNotExistException(username);
             }
@@ -108,7 +117,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
             throw new InputViolationException(String.join("\n", violations));
         }
 
-        Account accountRequest = accountRepository.findByAccountHolder_Email(request.email())
+        Account accountRequest = accountRepository.findByAccountHolder_EmailIndex(blindIndex.email(request.email()))
                 .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
         boolean isCorrectPassword = passwordEncoder.matches(request.oldPassword(), accountRequest.getAccountHolder().getPassword());
@@ -123,6 +132,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
 
         accountRequest.getAccountHolder().setPassword(passwordEncoder.encode(request.newPassword()));
         accountRepository.save(accountRequest);
+        tokenDenylist.revoke(accountRequest.getAccountHolder().getEmail());
 
         sendChangedPasswordSuccessEmail(request, new Date());
 
@@ -141,7 +151,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
             throw new InputViolationException(String.join("\n", violations));
         }
 
-        Account account = accountRepository.findByAccountHolder_Email(request.oldEmail())
+        Account account = accountRepository.findByAccountHolder_EmailIndex(blindIndex.email(request.oldEmail()))
                 .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
         boolean isCorrectPassword = passwordEncoder.matches(request.confirmPassword(), account.getAccountHolder().getPassword());
@@ -183,9 +193,11 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
             throw new IllegalArgumentException("Token expired");
         }
 
-        Account account = accountRepository.findByAccountHolder_Email(emailChangeToken.getOldEmail())
+        Account account = accountRepository.findByAccountHolder_EmailIndex(blindIndex.email(emailChangeToken.getOldEmail()))
                 .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
+        principalCache.evict(account.getAccountHolder().getEmail());
+        tokenDenylist.revoke(account.getAccountHolder().getEmail());
         account.getAccountHolder().setEmail(emailChangeToken.getNewEmail());
         accountRepository.save(account);
 
@@ -206,7 +218,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
             throw new InputViolationException(String.join("\n", violations));
         }
 
-        Account account = accountRepository.findByAccountHolder_PhoneNumber(request.oldPhoneNumber())
+        Account account = accountRepository.findByAccountHolder_PhoneNumberIndex(blindIndex.phoneNumber(request.oldPhoneNumber()))
                 .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
         boolean isCorrectPassword = passwordEncoder.matches(request.confirmPassword(), account.getAccountHolder().getPassword());
@@ -251,7 +263,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
             throw new IllegalArgumentException("Token expired");
         }
 
-        Account account = accountRepository.findByAccountHolder_PhoneNumber(phoneChangeToken.getOldPhoneNumber())
+        Account account = accountRepository.findByAccountHolder_PhoneNumberIndex(blindIndex.phoneNumber(phoneChangeToken.getOldPhoneNumber()))
                 .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
         account.getAccountHolder().setPhoneNumber(phoneChangeToken.getNewPhoneNumber());
@@ -274,7 +286,7 @@ public class CustomerServiceImpl implements CustomerService, UserDetailsService
             throw new IllegalArgumentException("Invalid OTP");
         }
 
-        Account account = accountRepository.findByAccountHolder_PhoneNumber(newPhoneNumber)
+        Account account = accountRepository.findByAccountHolder_PhoneNumberIndex(blindIndex.phoneNumber(newPhoneNumber))
                 .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
         account.getAccountHolder().setPhoneNumber(newPhoneNumber);
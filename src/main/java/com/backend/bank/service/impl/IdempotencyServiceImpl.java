@@ -0,0 +1,218 @@
+package com.backend.bank.service.impl;
+
+import com.backend.bank.entity.IdempotencyKey;
+import com.backend.bank.exception.IdempotencyKeyInProgressException;
+import com.backend.bank.exception.IdempotencyKeyReuseException;
+import com.backend.bank.repository.IdempotencyKeyRepository;
+import com.backend.bank.service.intf.IdempotencyService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * <pre>
+ * Idempotency keys for the money moving endpoints.
+ * A key is looked up in three places, cheapest first:
+ * </pre>
+ *
+ * <dl>
+ *   <dt>{@code completed}</dt>
+ *   <dd>Bounded in-memory cache of the responses recently produced by this instance.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code inFlight}</dt>
+ *   <dd>Executions running on this instance, concurrent duplicates wait on the same future.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code idempotency_keys}</dt>
+ *   <dd>The persisted record. A key is claimed with an insert before the action runs,</dd>
+ *   <dd>so two instances never execute the same key. The response is stored on success,</dd>
+ *   <dd>a failed execution releases the claim so the client can retry.</dd>
+ *   <dd>A claim without a response is answered with 409 until the retention ends, since the</dd>
+ *   <dd>posting may have committed before the instance died or failed to store the response.</dd>
+ * </dl>
+ */
+@Log4j2
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, Completed> completed;
+
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration retention;
+
+    public IdempotencyServiceImpl(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            @Value("${transaction.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${transaction.idempotency.retention:PT24H}") Duration retention
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.completed = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(
+            String operation,
+            Long accountId,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<CompletableFuture<T>> action
+    ) throws IdempotencyKeyReuseException, IdempotencyKeyInProgressException {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String id = sha256(operation + ":" + accountId + ":" + idempotencyKey);
+        String requestHash = sha256(toJson(request));
+
+        Completed cached = completed.getIfPresent(id);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            return CompletableFuture.completedFuture(responseType.cast(cached.response()));
+        }
+
+        InFlight execution = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(id, execution);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            return running.result().thenApply(responseType::cast);
+        }
+
+        boolean claimed = false;
+        try {
+            if (idempotencyKeyRepository.claim(id, requestHash, LocalDateTime.now()) == 0) {
+                T response = replay(id, requestHash, responseType);
+                finish(id, execution, requestHash, response);
+                return CompletableFuture.completedFuture(response);
+            }
+            claimed = true;
+
+            action.get().whenComplete((response, error) -> {
+                if (error != null) {
+                    release(id);
+                    inFlight.remove(id, execution);
+                    execution.result().completeExceptionally(error);
+                    return;
+                }
+                record(id, response);
+                finish(id, execution, requestHash, response);
+            });
+        } catch (RuntimeException e) {
+            if (claimed) {
+                release(id);
+            }
+            inFlight.remove(id, execution);
+            execution.result().completeExceptionally(e);
+            throw e;
+        }
+
+        return execution.result().thenApply(responseType::cast);
+    }
+
+    /**
+     * Drops keys past their retention, including claims that never recorded a response.
+     */
+    @Scheduled(fixedDelayString = "${transaction.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private <T> T replay(String id, String requestHash, Class<T> responseType)
+            throws IdempotencyKeyReuseException, IdempotencyKeyInProgressException {
+
+        IdempotencyKey stored = idempotencyKeyRepository.findById(id)
+                .orElseThrow(() -> new IdempotencyKeyInProgressException("Request with this Idempotency-Key is still being processed"));
+        checkSameRequest(stored.getRequestHash(), requestHash);
+        if (stored.getResponse() == null) {
+            throw new IdempotencyKeyInProgressException("Request with this Idempotency-Key is still being processed");
+        }
+        return fromJson(stored.getResponse(), responseType);
+    }
+
+    private void record(String id, Object response) {
+        try {
+            idempotencyKeyRepository.complete(id, toJson(response), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to record idempotent response for key {}", id, e);
+        }
+    }
+
+    private void release(String id) {
+        try {
+            idempotencyKeyRepository.deleteById(id);
+        } catch (RuntimeException e) {
+            log.error("Failed to release idempotency key {}", id, e);
+        }
+    }
+
+    private void finish(String id, InFlight execution, String requestHash, Object response) {
+        completed.put(id, new Completed(requestHash, response));
+        inFlight.remove(id, execution);
+        execution.result().complete(response);
+    }
+
+    private void checkSameRequest(String expected, String actual) throws IdempotencyKeyReuseException {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent request", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+    }
+
+    private record Completed(String requestHash, Object response) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Object> result) {
+    }
+}
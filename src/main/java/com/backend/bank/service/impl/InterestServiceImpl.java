@@ -1,47 +1,299 @@
 package com.backend.bank.service.impl;
 
-import com.backend.bank.entity.Account;
-import com.backend.bank.repository.AccountRepository;
+import com.backend.bank.dto.Journal;
+import com.backend.bank.entity.enums.AccountType;
+import com.backend.bank.entity.enums.InterestPostingMode;
+import com.backend.bank.entity.enums.InterestRunStatus;
+import com.backend.bank.repository.InterestPostingRepository;
+import com.backend.bank.repository.InterestPostingRepository.AccountRate;
+import com.backend.bank.repository.InterestPostingRepository.Credit;
+import com.backend.bank.repository.InterestPostingRepository.IdRange;
 import com.backend.bank.service.intf.InterestService;
+import com.backend.bank.service.intf.LedgerService;
+import com.backend.bank.service.intf.NotificationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
-import org.springframework.mail.MailException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.security.auth.login.AccountNotFoundException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * <pre>
+ * Monthly interest posting, in up to two passes over the accounts still due for the period.
+ * Both passes run their units of work in parallel on the {@code interestTaskExecutor}:
+ * </pre>
+ *
+ * <dl>
+ *   <dt>{@code set-based} (mode {@code SET_BASED}, the default)</dt>
+ *   <dd>One SQL statement per {@link AccountType} and id slice credits {@code balance * interest}</dd>
+ *   <dd>and inserts the {@code INTEREST} transactions and ledger journals in bulk, without moving rows to the application.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code chunked}</dt>
+ *   <dd>Fixed size id ranges are claimed in {@code interest_run_chunks}, locked, computed here and</dd>
+ *   <dd>written back with JDBC batch updates. In {@code SET_BASED} mode it only sees the accounts</dd>
+ *   <dd>a failed statement left behind.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code checkpoint}</dt>
+ *   <dd>Every posted account is stamped with the period in the same statement that credits it,</dd>
+ *   <dd>so a run interrupted at any point resumes with the accounts still missing and never</dd>
+ *   <dd>credits an account twice.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code notifications}</dt>
+ *   <dd>Every account that earns interest gets its monthly interest email written to the notification</dd>
+ *   <dd>outbox in the transaction that credits it, so the email goes out exactly when the credit commits.</dd>
+ * </dl>
+ *
+ * Progress is published as the {@code interest.job.accounts} counter and logged in accounts
+ * per second while the run is going.
+ */
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class InterestServiceImpl implements InterestService {
 
-    private final AccountRepository accountRepository;
+    private final InterestPostingRepository interestPostingRepository;
+
+    private final LedgerService ledgerService;
+
+    private final NotificationService notificationService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor interestTaskExecutor;
+
+    private final Counter creditedAccounts;
+
+    private final int chunkSize;
+
+    private final int chunkAttempts;
+
+    private final Duration reportInterval;
+
+    private final InterestPostingMode mode;
+
+    private final int setSliceSize;
+
+    public InterestServiceImpl(
+            InterestPostingRepository interestPostingRepository,
+            LedgerService ledgerService,
+            NotificationService notificationService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("interestTaskExecutor") Executor interestTaskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.interest.chunk-size:1000}") int chunkSize,
+            @Value("${transaction.interest.chunk-attempts:3}") int chunkAttempts,
+            @Value("${transaction.interest.report-interval:PT10S}") Duration reportInterval,
+            @Value("${transaction.interest.mode:SET_BASED}") InterestPostingMode mode,
+            @Value("${transaction.interest.set-slice-size:100000}") int setSliceSize
+    ) {
+        this.interestPostingRepository = interestPostingRepository;
+        this.ledgerService = ledgerService;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.interestTaskExecutor = interestTaskExecutor;
+        this.creditedAccounts = Counter.builder("interest.job.accounts").register(meterRegistry);
+        this.chunkSize = chunkSize;
+        this.chunkAttempts = Math.max(1, chunkAttempts);
+        this.reportInterval = reportInterval;
+        this.mode = mode;
+        this.setSliceSize = setSliceSize;
+    }
 
     /**
-     * {@code Add interest} to the users' account based on {@code user's interest}.
+     * {@code Post interest} of the given month to every account. Safe to call again for the
+     * same month, only the accounts missing from an earlier attempt are credited.
      *
-     * @param accountNumber user's account number
-     * @param interest  interest rate
+     * @param month The month the interest is posted for.
      */
     @Override
-    @Transactional(
-            rollbackFor = Exception.class,
-            noRollbackFor = MailException.class,
-            propagation = Propagation.REQUIRES_NEW
-    )
-    public void addInterest(String accountNumber, BigDecimal interest) throws AccountNotFoundException {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Can't find account " + accountNumber));
-
-        BigDecimal balance = account.getBalance();
-        BigDecimal balanceAfterInterest = balance.add(interest);
-
-        account.setBalance(balanceAfterInterest);
-        accountRepository.save(account);
+    public void postInterest(YearMonth month) {
+        String period = month.toString();
+        interestPostingRepository.startRun(period, LocalDateTime.now());
+        if (interestPostingRepository.findRunStatus(period) == InterestRunStatus.COMPLETED) {
+            log.info("Interest run {} is already completed", period);
+            return;
+        }
+
+        AtomicLong processed = new AtomicLong();
+        long started = System.nanoTime();
+
+        if (mode == InterestPostingMode.SET_BASED && !await(period, postSetBased(period, processed), processed, started)) {
+            log.warn("Interest run {}: set-based posting failed for some accounts, posting them one by one", period);
+        }
+
+        if (!await(period, postChunked(period, processed), processed, started)) {
+            log.error("Interest run {} is incomplete, the remaining accounts are posted on the next attempt", period);
+            return;
+        }
+
+        long credited = interestPostingRepository.completeRun(period, LocalDateTime.now());
+        log.info("Interest run {} completed: {} accounts credited, {} in this attempt at {} accounts/s",
+                period, credited, processed.get(), rate(processed.get(), started));
+    }
+
+    /**
+     * Resumes the runs left unfinished by a crash or a failed chunk. Runs on its own
+     * {@code interestRunTaskExecutor} thread, so startup does not wait for the posting and the
+     * run does not take one of the {@code interestTaskExecutor} workers its slices need.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Async(value = "interestRunTaskExecutor")
+    public void resumeUnfinishedRuns() {
+        for (String period : interestPostingRepository.findPeriodsByStatus(InterestRunStatus.RUNNING)) {
+            log.info("Resuming interest run {}", period);
+            postInterest(YearMonth.parse(period));
+        }
+    }
+
+    /**
+     * One statement per {@link AccountType} and id slice, each in its own transaction.
+     */
+    private List<CompletableFuture<Void>> postSetBased(String period, AtomicLong processed) {
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        interestPostingRepository.findDueIdRange(period).ifPresent(range -> {
+            LocalDateTime timestamp = LocalDateTime.now();
+            for (AccountType accountType : AccountType.values()) {
+                for (long startId = range.minId(); startId <= range.maxId(); startId += setSliceSize) {
+                    long sliceStart = startId;
+                    slices.add(CompletableFuture.runAsync(() -> {
+                        List<Credit> credited = transactionTemplate.execute(status -> {
+                            List<Credit> posted = interestPostingRepository.postSetBased(
+                                    period, accountType, sliceStart, sliceStart + setSliceSize, timestamp);
+                            notificationService.sendInterestReceivedEmails(earnedByAccountId(posted));
+                            return posted;
+                        });
+                        processed.addAndGet(credited.size());
+                        creditedAccounts.increment(credited.size());
+                    }, interestTaskExecutor));
+                }
+            }
+        });
+        log.info("Interest run {}: {} set-based statements to run", period, slices.size());
+        return slices;
+    }
+
+    /**
+     * Fixed size id ranges credited row by row, for whatever the set-based path did not post.
+     * A range is posted again whenever it holds a due account, even if an earlier attempt
+     * already claimed it, so accounts created inside a claimed range are not skipped.
+     */
+    private List<CompletableFuture<Void>> postChunked(String period, AtomicLong processed) {
+        Optional<IdRange> idRange = interestPostingRepository.findDueIdRange(period);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+        idRange.ifPresent(range -> {
+            for (long startId = range.minId() - Math.floorMod(range.minId(), chunkSize); startId <= range.maxId(); startId += chunkSize) {
+                long chunkStart = startId;
+                chunks.add(CompletableFuture.runAsync(
+                        () -> processed.addAndGet(postChunk(period, chunkStart, chunkStart + chunkSize)),
+                        interestTaskExecutor));
+            }
+        });
+
+        if (!chunks.isEmpty()) {
+            log.info("Interest run {}: {} chunks to post one by one", period, chunks.size());
+        }
+        return chunks;
+    }
+
+    private int postChunk(String period, long startId, long endId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<Credit> credited = transactionTemplate.execute(status -> creditChunk(period, startId, endId));
+                creditedAccounts.increment(credited.size());
+                return credited.size();
+            } catch (RuntimeException e) {
+                if (attempt >= chunkAttempts) {
+                    throw e;
+                }
+                log.warn("Interest run {}: chunk [{}, {}) failed on attempt {}, retrying: {}",
+                        period, startId, endId, attempt, e.getMessage());
+            }
+        }
+    }
+
+    private List<Credit> creditChunk(String period, long startId, long endId) {
+        interestPostingRepository.claimChunk(period, startId, endId, LocalDateTime.now());
+        List<Credit> credits = interestPostingRepository.lockAccounts(period, startId, endId).stream()
+                .map(account -> new Credit(account.id(), interestOf(account)))
+                .toList();
+        interestPostingRepository.creditAll(period, credits);
+
+        List<Credit> earned = credits.stream().filter(credit -> credit.amount().signum() != 0).toList();
+        List<Long> transactionIds = interestPostingRepository.insertInterest(earned, LocalDateTime.now());
+        List<Journal> journals = new ArrayList<>(earned.size());
+        for (int i = 0; i < earned.size(); i++) {
+            journals.add(Journal.interest(earned.get(i).id(), earned.get(i).amount(), transactionIds.get(i)));
+        }
+        ledgerService.postAll(journals);
+        notificationService.sendInterestReceivedEmails(earnedByAccountId(earned));
+
+        interestPostingRepository.completeChunk(period, startId, credits.size(), LocalDateTime.now());
+        return credits;
+    }
+
+    private static Map<Long, BigDecimal> earnedByAccountId(List<Credit> credits) {
+        Map<Long, BigDecimal> earned = new LinkedHashMap<>();
+        credits.stream()
+                .filter(credit -> credit.amount().signum() != 0)
+                .forEach(credit -> earned.put(credit.id(), credit.amount()));
+        return earned;
+    }
+
+    private BigDecimal interestOf(AccountRate account) {
+        return account.balance().multiply(account.rate()).setScale(account.balance().scale(), RoundingMode.HALF_UP);
+    }
+
+    private boolean await(String period, List<CompletableFuture<Void>> tasks, AtomicLong processed, long started) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+        while (true) {
+            try {
+                all.get(reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                long done = tasks.stream().filter(CompletableFuture::isDone).count();
+                log.info("Interest run {}: {}/{} tasks, {} accounts, {} accounts/s",
+                        period, done, tasks.size(), processed.get(), rate(processed.get(), started));
+            } catch (ExecutionException e) {
+                all.exceptionally(error -> null).join();
+                log.error("Interest run {}: task failed: {}", period, e.getCause().getMessage(), e.getCause());
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static long rate(long accounts, long startedNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        return accounts * 1000 / elapsedMillis;
     }
 }
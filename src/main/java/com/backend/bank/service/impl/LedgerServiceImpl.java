@@ -0,0 +1,154 @@
+package com.backend.bank.service.impl;
+
+import com.backend.bank.dto.Journal;
+import com.backend.bank.exception.AccountNotExistException;
+import com.backend.bank.repository.AccountRepository;
+import com.backend.bank.repository.BalanceSnapshotRepository;
+import com.backend.bank.repository.LedgerRepository;
+import com.backend.bank.repository.LedgerRepository.Entry;
+import com.backend.bank.service.intf.LedgerService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * <pre>
+ * Double-entry journal of every balance movement.
+ * {@code accounts.balance} stays the materialized projection read by the hot path. Each
+ * movement updates the projection and posts its journal in the same transaction, so:
+ * </pre>
+ *
+ * <dl>
+ *   <dt>{@code post}</dt>
+ *   <dd>Only appends rows, writers of the same account never wait on each other in the journal.</dd>
+ *   <dd>Must join a running transaction, the projection update it belongs to commits with it.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code replayBalance}</dt>
+ *   <dd>Rebuilds the balance of an account from its legs, to audit or restore the projection.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code balanceAt}</dt>
+ *   <dd>Point-in-time balance from the nearest daily snapshot plus the legs since, so the cost</dd>
+ *   <dd>is bounded by one day of the account's activity instead of its whole history.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code openingBalances}</dt>
+ *   <dd>Balances that predate the ledger are booked once as {@code OPENING_BALANCE} journals.</dd>
+ * </dl>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class LedgerServiceImpl implements LedgerService {
+
+    private final LedgerRepository ledgerRepository;
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    private final AccountRepository accountRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(Journal journal) {
+        postAll(List.of(journal));
+    }
+
+    /**
+     * {@code Posts} several journals with one JDBC batch.
+     *
+     * @param journals The journals, each balanced on its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void postAll(List<Journal> journals) {
+        if (journals.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(journals.size() * 2);
+        for (Journal journal : journals) {
+            UUID journalId = UUID.randomUUID();
+            for (Journal.Leg leg : journal.legs()) {
+                entries.add(new Entry(journalId, leg.accountId(), leg.book(), leg.direction(), leg.amount(),
+                        journal.type(), journal.transactionId()));
+            }
+        }
+        ledgerRepository.insertAll(entries, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal replayBalance(Long accountId) {
+        return ledgerRepository.sumBalance(accountId);
+    }
+
+    /**
+     * {@code Balance} of an account at a point in time, as recorded by the ledger.
+     *
+     * @param accountId The ID of the account.
+     * @param at        The point in time, legs created at that instant are included.
+     *
+     * @throws AccountNotExistException If the account does not exist.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal balanceAt(Long accountId, LocalDateTime at) throws AccountNotExistException {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotExistException("Account not found");
+        }
+        return balanceSnapshotRepository.balanceAt(accountId, at);
+    }
+
+    /**
+     * {@code Snapshots} the balances of the accounts active during each day not snapshotted yet,
+     * at midnight. Runs a few minutes after midnight so postings of the previous day have committed.
+     */
+    @Override
+    @Scheduled(cron = "${ledger.snapshot.cron:0 5 0 * * ?}")
+    public void takeSnapshots() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        Optional<LocalDateTime> latest = balanceSnapshotRepository.findLatestAsOf();
+
+        if (latest.isEmpty()) {
+            int written = balanceSnapshotRepository.insertFromLedger(today);
+            log.info("Ledger: first balance snapshot at {} for {} accounts", today, written);
+            return;
+        }
+
+        for (LocalDateTime asOf = latest.get().plusDays(1); !asOf.isAfter(today); asOf = asOf.plusDays(1)) {
+            int written = balanceSnapshotRepository.insertIncrement(asOf.minusDays(1), asOf);
+            log.info("Ledger: balance snapshot at {} for {} accounts", asOf, written);
+        }
+    }
+
+    /**
+     * Books the balances that predate the ledger once the application is up. Postings that are
+     * still running are left out on both sides, so the opening amount stays exact.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void openingBalances() {
+        int inserted = ledgerRepository.insertOpeningBalances(LocalDateTime.now());
+        if (inserted > 0) {
+            log.info("Ledger: booked opening balances for {} accounts", inserted / 2);
+        }
+    }
+}
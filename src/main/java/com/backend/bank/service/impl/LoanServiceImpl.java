@@ -1,12 +1,12 @@
 package com.backend.bank.service.impl;
 
+import com.backend.bank.dto.Journal;
 import com.backend.bank.dto.request.LoanApplicationRequest;
 import com.backend.bank.dto.request.LoanApprovalRequest;
 import com.backend.bank.dto.request.LoanRepaymentRequest;
 import com.backend.bank.dto.response.LoanApplicationResponse;
 import com.backend.bank.dto.response.LoanDetailsResponse;
 import com.backend.bank.dto.response.LoanRepaymentResponse;
-import com.backend.bank.entity.Account;
 import com.backend.bank.entity.Customer;
 import com.backend.bank.entity.Loan;
 import com.backend.bank.entity.enums.LoanStatus;
@@ -15,6 +15,7 @@ import com.backend.bank.exception.*;
 import com.backend.bank.repository.AccountRepository;
 import com.backend.bank.repository.CustomerRepository;
 import com.backend.bank.repository.LoanRepository;
+import com.backend.bank.service.intf.LedgerService;
 import com.backend.bank.service.intf.LoanService;
 import com.backend.bank.utils.RequestValidator;
 
@@ -42,6 +43,8 @@ public class LoanServiceImpl implements LoanService {
 
     private final AccountRepository accountRepository;
 
+    private final LedgerService ledgerService;
+
     private final RequestValidator<LoanApplicationRequest> loanApplicationRequestValidator;
 
     private final RequestValidator<LoanRepaymentRequest> loanRepaymentRequestValidator;
@@ -101,10 +104,12 @@ public class LoanServiceImpl implements LoanService {
 
         if (request.approve()) {
             loan.setTakeLoanStatus(TakeLoanStatus.APPROVED);
-            Account account = accountRepository.findByAccountHolder_Id(loan.getCustomer().getId())
+            Long accountId = accountRepository.findIdByAccountHolderId(loan.getCustomer().getId())
                     .orElseThrow(() -> new AccountNotExistException("Account not found for customer."));
-            account.setBalance(account.getBalance().add(loan.getAmount()));
-            accountRepository.save(account);
+            if (accountRepository.credit(accountId, loan.getAmount()) == 0) {
+                throw new AccountInactiveException("Customer's account is not active.");
+            }
+            ledgerService.post(Journal.loanDisbursement(accountId, loan.getAmount()));
             return mapToLoanApplicationResponse(loan, "Loan approved and amount disbursed to customer's account.");
         } else {
             loan.setTakeLoanStatus(TakeLoanStatus.REJECTED);
@@ -140,14 +145,12 @@ public class LoanServiceImpl implements LoanService {
             throw new InvalidRepaymentAmountException("Repayment amount exceeds the remaining loan amount.");
         }
 
-        Account account = accountRepository.findByAccountHolder_Id(loan.getCustomer().getId())
+        Long accountId = accountRepository.findIdByAccountHolderId(loan.getCustomer().getId())
                 .orElseThrow(() -> new AccountNotExistException("Account not found for customer."));
-        if (account.getBalance().compareTo(request.repaymentAmount()) < 0) {
+        if (accountRepository.debit(accountId, request.repaymentAmount()) == 0) {
             throw new InsufficientFundsException("Insufficient funds in account for repayment.");
         }
-
-        account.setBalance(account.getBalance().subtract(request.repaymentAmount()));
-        accountRepository.save(account);
+        ledgerService.post(Journal.loanRepayment(accountId, request.repaymentAmount()));
 
         amountPaid = amountPaid.add(request.repaymentAmount());
         if (amountPaid.compareTo(totalOwed) >= 0) {
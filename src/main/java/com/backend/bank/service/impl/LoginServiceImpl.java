@@ -7,6 +7,7 @@ import com.backend.bank.dto.response.LoginResponse;
 import com.backend.bank.entity.Customer;
 import com.backend.bank.repository.CustomerRepository;
 import com.backend.bank.security.auth.JwtProvider;
+import com.backend.bank.security.data.BlindIndex;
 import com.backend.bank.service.intf.LoginService;
 import com.backend.bank.utils.RequestValidator;
 
@@ -32,6 +33,8 @@ public class LoginServiceImpl implements LoginService {
 
     private final JwtProvider jwtProvider;
 
+    private final BlindIndex blindIndex;
+
     private final RequestValidator<LoginRequest> loginRequestRequestValidator;
 
     @Override
@@ -45,7 +48,7 @@ public class LoginServiceImpl implements LoginService {
         String email = loginRequest.email();
         String password = loginRequest.password();
 
-        Customer customer = customerRepository.findByEmail(email)
+        Customer customer = customerRepository.findByEmailIndex(blindIndex.email(email))
                 .orElseThrow(() -> new AccountNotExistException("Customer not found: " + email));
 
         boolean isCorrectPassword = passwordEncoder.matches(password, customer.getPassword());
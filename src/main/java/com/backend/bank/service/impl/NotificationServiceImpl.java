@@ -1,41 +1,192 @@
 package com.backend.bank.service.impl;
 
 import com.backend.bank.dto.EmailDetails;
+import com.backend.bank.dto.TransferReceivedNotice;
+import com.backend.bank.dto.request.TransactionRequest;
 import com.backend.bank.entity.Account;
+import com.backend.bank.entity.OutboxMessage;
 import com.backend.bank.entity.Transaction;
+import com.backend.bank.entity.enums.OutboxMessageType;
+import com.backend.bank.entity.enums.OutboxStatus;
+import com.backend.bank.repository.AccountRepository;
+import com.backend.bank.repository.OutboxBatchRepository;
+import com.backend.bank.repository.OutboxMessageRepository;
 import com.backend.bank.service.intf.NotificationService;
+import com.backend.bank.service.mail.PooledMailSender;
+import com.backend.bank.utils.EmailUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * <pre>
+ * Customer notifications through a transactional outbox.
+ * </pre>
+ *
+ * <dl>
+ *   <dt>{@code writing}</dt>
+ *   <dd>Notifications are inserted into {@code notification_outbox} in the caller's transaction,</dd>
+ *   <dd>so they are sent only if the change they report commits, and the caller never waits on SMTP.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code dispatching}</dt>
+ *   <dd>Every {@code notification.outbox.poll-interval} up to {@code notification.outbox.dispatchers} drains</dd>
+ *   <dd>run on their own {@code outboxTaskExecutor}, in batches of {@code notification.outbox.batch-size} locked with</dd>
+ *   <dd>{@code SKIP LOCKED}, and at most {@code notification.outbox.max-batches} batches per poll.</dd>
+ *   <dd>A backlog therefore drains at a bounded rate and never slows down the transaction path.</dd>
+ *   <dd>A batch is claimed as {@code SENDING} for {@code notification.outbox.lease} in one short transaction,</dd>
+ *   <dd>sent with no transaction or connection held, and its outcome recorded in a second one.</dd>
+ *   <dd>If the dispatcher dies in between, the batch is claimed again once the lease runs out.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code sending}</dt>
+ *   <dd>Each batch is written through {@link PooledMailSender} over one pooled SMTP connection,</dd>
+ *   <dd>instead of one SMTP conversation per email.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code failures}</dt>
+ *   <dd>A failed send is retried with an exponential backoff, from {@code notification.outbox.initial-backoff}</dd>
+ *   <dd>doubling up to {@code notification.outbox.max-backoff}. A message that still fails after</dd>
+ *   <dd>{@code notification.outbox.max-attempts}, or that cannot be built at all, is dead-lettered.</dd>
+ * </dl>
+ */
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
-    private final JavaMailSender javaMailSender;
+    private static final String TRANSFER_SUBJECT = "TRANSFER";
+
+    private static final String INTEREST_SUBJECT = "RECEIVING MONTHLY INTEREST";
+
+    private final PooledMailSender pooledMailSender;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final OutboxBatchRepository outboxBatchRepository;
+
+    private final AccountRepository accountRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TaskExecutor outboxTaskExecutor;
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicInteger draining = new AtomicInteger();
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter deadLettered;
 
     @Value("${spring.mail.username}")
     private String senderEmail;
 
+    @Value("${notification.outbox.dispatchers:2}")
+    private int dispatchers;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-batches:50}")
+    private int maxBatches;
+
+    @Value("${notification.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${notification.outbox.max-backoff:PT30M}")
+    private Duration maxBackoff;
+
+    @Value("${notification.outbox.retention:P7D}")
+    private Duration retention;
+
+    public NotificationServiceImpl(
+            PooledMailSender pooledMailSender,
+            OutboxMessageRepository outboxMessageRepository,
+            OutboxBatchRepository outboxBatchRepository,
+            AccountRepository accountRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("outboxTaskExecutor") TaskExecutor outboxTaskExecutor,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.pooledMailSender = pooledMailSender;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxBatchRepository = outboxBatchRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxTaskExecutor = outboxTaskExecutor;
+        this.objectMapper = objectMapper;
+        this.sent = Counter.builder("notification.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("notification.outbox.retried").register(meterRegistry);
+        this.deadLettered = Counter.builder("notification.outbox.dead").register(meterRegistry);
+    }
+
     @Override
-    @Async(value = "emailTaskExecutor")
+    @Transactional
     public void sendEmailToCustomer(EmailDetails emailDetails) {
+        outboxMessageRepository.save(newMessage(OutboxMessageType.EMAIL, emailDetails.getSubject(), emailDetails.getBody())
+                .receiver(emailDetails.getReceiver())
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void sendTransferReceivedEmail(Long recipientAccountId, TransactionRequest transactionRequest, BigDecimal recipientBalance) {
+        String notice;
         try {
-            sendEmail(emailDetails);
-            logEmailSentSuccessfully(emailDetails);
-        } catch (MailException e) {
-            logEmailSentError(emailDetails, e);
-            throw new RuntimeException(e.getMessage());
+            notice = objectMapper.writeValueAsString(new TransferReceivedNotice(transactionRequest, recipientBalance));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize transfer notification", e);
+        }
+        outboxMessageRepository.save(newMessage(OutboxMessageType.TRANSFER_RECEIVED, TRANSFER_SUBJECT, notice)
+                .recipientAccountId(recipientAccountId)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void sendInterestReceivedEmails(Map<Long, BigDecimal> interestByAccountId) {
+        if (!interestByAccountId.isEmpty()) {
+            outboxBatchRepository.insertInterestReceived(interestByAccountId, INTEREST_SUBJECT, LocalDateTime.now());
         }
     }
 
@@ -49,21 +200,237 @@ public class NotificationServiceImpl implements NotificationService {
 
     }
 
-    private void sendEmail(EmailDetails emailDetails) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(senderEmail);
-        message.setTo(emailDetails.getReceiver());
-        message.setSubject(emailDetails.getSubject());
-        message.setText(emailDetails.getBody());
-        javaMailSender.send(message);
+    /**
+     * Tops the running drains of the outbox up to {@code notification.outbox.dispatchers} on the
+     * {@code outboxTaskExecutor}. Concurrent drains claim disjoint batches.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:PT1S}")
+    public void dispatchOutbox() {
+        while (true) {
+            int running = draining.get();
+            if (running >= dispatchers) {
+                return;
+            }
+            if (!draining.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            try {
+                outboxTaskExecutor.execute(() -> {
+                    try {
+                        drain();
+                    } finally {
+                        draining.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                draining.decrementAndGet();
+                log.warn("Outbox dispatch skipped: {}", e.getMessage());
+                return;
+            }
+        }
     }
 
-    private void logEmailSentSuccessfully(EmailDetails emailDetails) {
-        log.info("[timestamp:{}] Sent {} email to: {}.",
-                new Date(),
-                emailDetails.getSubject().toUpperCase(),
-                emailDetails.getReceiver()
-        );
+    /**
+     * Drops sent messages past their retention. Dead-lettered messages are kept for inspection.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.purge-interval:PT1H}")
+    public void purgeSent() {
+        int purged = outboxMessageRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} sent notifications from the outbox", purged);
+        }
+    }
+
+    private void drain() {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int dispatched;
+            try {
+                dispatched = dispatchBatch();
+            } catch (RuntimeException e) {
+                log.error("Outbox dispatch failed", e);
+                return;
+            }
+            if (dispatched < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims a batch, sends it outside any transaction and records the outcome.
+     *
+     * @return The number of messages claimed.
+     */
+    private int dispatchBatch() {
+        ClaimedBatch claimed = transactionTemplate.execute(status -> claimBatch());
+        if (claimed == null || claimed.size() == 0) {
+            return 0;
+        }
+        if (!claimed.emails().isEmpty()) {
+            Map<Integer, MailException> failures = pooledMailSender.sendBatch(claimed.emails(), senderEmail);
+            transactionTemplate.executeWithoutResult(status -> recordOutcome(claimed, failures));
+        }
+        return claimed.size();
+    }
+
+    /**
+     * Marks the due messages as {@code SENDING} until the lease runs out and renders them.
+     * Messages that cannot be rendered are dead-lettered right away.
+     */
+    private ClaimedBatch claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxMessageRepository.lockDue(now, batchSize);
+        if (batch.isEmpty()) {
+            return new ClaimedBatch(0, null, List.of(), List.of());
+        }
+        LocalDateTime leaseUntil = now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+
+        List<Long> recipientIds = batch.stream()
+                .map(OutboxMessage::getRecipientAccountId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Account> recipients = recipientIds.isEmpty()
+                ? Map.of()
+                : accountRepository.findWithHolderByIdIn(recipientIds).stream()
+                        .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        List<Long> messageIds = new ArrayList<>(batch.size());
+        List<EmailDetails> emails = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            try {
+                emails.add(render(message, recipients));
+                messageIds.add(message.getId());
+                message.setStatus(OutboxStatus.SENDING);
+                message.setNextAttemptAt(leaseUntil);
+            } catch (RuntimeException e) {
+                deadLetter(message, e);
+            }
+        }
+        return new ClaimedBatch(batch.size(), leaseUntil, messageIds, emails);
+    }
+
+    /**
+     * Applies the send results to the claimed messages. A message no longer holding this lease
+     * was claimed again after the lease ran out and is left to that dispatcher.
+     */
+    private void recordOutcome(ClaimedBatch claimed, Map<Integer, MailException> failures) {
+        Map<Long, OutboxMessage> messages = outboxMessageRepository.findAllById(claimed.messageIds()).stream()
+                .collect(Collectors.toMap(OutboxMessage::getId, Function.identity()));
+        LocalDateTime sentAt = LocalDateTime.now();
+        for (int i = 0; i < claimed.messageIds().size(); i++) {
+            OutboxMessage message = messages.get(claimed.messageIds().get(i));
+            if (message == null
+                    || message.getStatus() != OutboxStatus.SENDING
+                    || !message.getNextAttemptAt().equals(claimed.leaseUntil())) {
+                continue;
+            }
+            MailException failure = failures.get(i);
+            if (failure == null) {
+                message.setStatus(OutboxStatus.SENT);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setSentAt(sentAt);
+                message.setLastError(null);
+                sent.increment();
+            } else if (failure instanceof MailParseException || failure instanceof MailPreparationException) {
+                deadLetter(message, failure);
+            } else {
+                logEmailSentError(claimed.emails().get(i), failure);
+                retry(message, failure);
+            }
+        }
+    }
+
+    private EmailDetails render(OutboxMessage message, Map<Long, Account> recipients) {
+        return switch (message.getType()) {
+            case EMAIL -> new EmailDetails(message.getReceiver(), message.getSubject(), message.getBody(), null);
+            case TRANSFER_RECEIVED -> {
+                Account recipient = recipientOf(message, recipients);
+                TransferReceivedNotice notice;
+                try {
+                    notice = objectMapper.readValue(message.getBody(), TransferReceivedNotice.class);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Cannot read transfer notification", e);
+                }
+                Date receivedDate = Date.from(message.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+                yield new EmailDetails(
+                        recipient.getAccountHolder().getEmail(),
+                        message.getSubject(),
+                        EmailUtils.sendEmailOnReceiving(recipient.getAccountHolder(), notice.transfer(), notice.balance(), receivedDate),
+                        null);
+            }
+            case INTEREST_RECEIVED -> {
+                Account recipient = recipientOf(message, recipients);
+                yield new EmailDetails(
+                        recipient.getAccountHolder().getEmail(),
+                        message.getSubject(),
+                        EmailUtils.sendEmailOnReceivingInterest(recipient, new BigDecimal(message.getBody()), message.getCreatedAt().toLocalDate()),
+                        null);
+            }
+        };
+    }
+
+    private Account recipientOf(OutboxMessage message, Map<Long, Account> recipients) {
+        Account recipient = recipients.get(message.getRecipientAccountId());
+        if (recipient == null) {
+            throw new IllegalStateException("Recipient account not found: " + message.getRecipientAccountId());
+        }
+        return recipient;
+    }
+
+    private void retry(OutboxMessage message, RuntimeException cause) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(cause.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.DEAD);
+            deadLettered.increment();
+            log.error("Notification {} dead-lettered after {} attempts", message.getId(), attempts);
+            return;
+        }
+        message.setStatus(OutboxStatus.PENDING);
+        message.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        retried.increment();
+    }
+
+    private void deadLetter(OutboxMessage message, RuntimeException cause) {
+        message.setStatus(OutboxStatus.DEAD);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(truncate(cause.getMessage()));
+        deadLettered.increment();
+        log.error("Notification {} dead-lettered, it cannot be sent", message.getId(), cause);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private OutboxMessage.OutboxMessageBuilder newMessage(OutboxMessageType type, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxMessage.builder()
+                .type(type)
+                .subject(subject)
+                .body(body)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    /**
+     * The messages of a claimed batch that could be rendered, with their emails in the same order.
+     *
+     * @param size       The number of messages claimed, rendered or not.
+     * @param leaseUntil When the claim runs out.
+     * @param messageIds The ids of the rendered messages.
+     * @param emails     The rendered emails.
+     */
+    private record ClaimedBatch(int size, LocalDateTime leaseUntil, List<Long> messageIds, List<EmailDetails> emails) {
     }
 
     private void logEmailSentError(EmailDetails emailDetails, MailException e) {
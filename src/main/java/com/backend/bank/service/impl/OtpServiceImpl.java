@@ -1,78 +1,126 @@
 package com.backend.bank.service.impl;
 
 import com.backend.bank.service.intf.OtpService;
+import com.backend.bank.service.intf.SmsService;
 
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
 import lombok.extern.log4j.Log4j2;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.TimeUnit;
-
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-time passwords for phone number changes.
+ * <p>
+ * Codes live in a bounded Guava cache that expires them {@code otp.expiration} after they were
+ * generated, and a periodic clean up drops expired codes even when nobody reads them again.
+ * Every identifier gets {@code otp.max-attempts} validations per {@code otp.attempt-window},
+ * counted from its first attempt and kept across regenerated codes, so asking for a new code
+ * does not buy new guesses. Once they are used up the current code is discarded and every
+ * validation fails until the window runs out. Invalidating a used code resets the count. Size, hits
+ * and evictions are published as the {@code otp} and {@code otp.attempts} caches.
+ */
 @Log4j2
 @Service
 public class OtpServiceImpl implements OtpService {
 
-    private final Map<String, String> otpCache = new HashMap<>();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Cache<String, String> otpCache;
+
+    private final Cache<String, AtomicInteger> attemptsCache;
 
-    private final Map<String, Long> otpExpiryCache = new HashMap<>();
+    private final Duration expiration;
 
-    private static final int EXPIRATION_TIME = 5; // 5 minutes
+    private final int maxAttempts;
 
-    private final String twilioPhoneNumber;
+    private final SmsService smsService;
 
     public OtpServiceImpl(
-            @Value("${twilio.account-sid}") String accountSid,
-            @Value("${twilio.auth-token}") String authToken,
-            @Value("${twilio.phone-number}") String twilioPhoneNumber
+            SmsService smsService,
+            MeterRegistry meterRegistry,
+            @Value("${otp.expiration:PT5M}") Duration expiration,
+            @Value("${otp.max-attempts:5}") int maxAttempts,
+            @Value("${otp.attempt-window:PT1H}") Duration attemptWindow,
+            @Value("${otp.max-size:100000}") long maxSize
     ) {
-        this.twilioPhoneNumber = twilioPhoneNumber;
-        Twilio.init(accountSid, authToken);
+        this.smsService = smsService;
+        this.expiration = expiration;
+        this.maxAttempts = maxAttempts;
+        this.otpCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expiration)
+                .recordStats()
+                .build();
+        this.attemptsCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(attemptWindow)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, otpCache, "otp");
+        GuavaCacheMetrics.monitor(meterRegistry, attemptsCache, "otp.attempts");
     }
 
     @Override
     public String generateOTP(String identifier) {
-        Random random = new Random();
-        String otp = String.format("%06d", random.nextInt(1000000)); // 6-digit OTP
+        String otp = String.format("%06d", RANDOM.nextInt(1000000)); // 6-digit OTP
         otpCache.put(identifier, otp);
-        otpExpiryCache.put(identifier, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(EXPIRATION_TIME));
         return otp;
     }
 
     @Override
     public boolean validateOTP(String identifier, String otp) {
-        String cachedOtp = otpCache.get(identifier);
-        Long expiryTime = otpExpiryCache.get(identifier);
-
-        return cachedOtp != null && cachedOtp.equals(otp) && expiryTime != null && System.currentTimeMillis() < expiryTime;
+        String cachedOtp = otpCache.getIfPresent(identifier);
+        if (cachedOtp == null || otp == null) {
+            return false;
+        }
+
+        AtomicInteger attempts = attemptsCache.asMap().computeIfAbsent(identifier, key -> new AtomicInteger());
+        if (attempts.incrementAndGet() > maxAttempts) {
+            otpCache.asMap().remove(identifier, cachedOtp);
+            log.warn("OTP attempts exhausted for {}", identifier);
+            return false;
+        }
+        return MessageDigest.isEqual(
+                cachedOtp.getBytes(StandardCharsets.UTF_8),
+                otp.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * {@code Queues} the code for delivery, the request does not wait for the SMS provider.
+     */
     @Override
     public void sendOTP(String identifier, String otp) {
-        Message message = Message.creator(
-                new PhoneNumber(identifier),  // to
-                new PhoneNumber(twilioPhoneNumber),  // from
-                "Your OTP is: " + otp +  // message body
-                "\n It will expire in 5 minutes."
-        ).create();
-
-        log.info("Sent OTP {} to {}. SID: {}",
-                otp,
-                identifier,
-                message.getSid()
-        );
+        String messageId = smsService.send(identifier,
+                "Your OTP is: " + otp +
+                "\n It will expire in " + expiration.toMinutes() + " minutes.");
+        log.info("Queued OTP for {} as SMS {}", identifier, messageId);
     }
 
     @Override
     public void invalidateOTP(String identifier) {
-        otpCache.remove(identifier);
-        otpExpiryCache.remove(identifier);
+        otpCache.invalidate(identifier);
+        attemptsCache.invalidate(identifier);
+    }
+
+    /**
+     * Drops expired codes and attempt counts that were never read again.
+     */
+    @Scheduled(fixedDelayString = "${otp.clean-up-interval:PT1M}")
+    public void cleanUp() {
+        otpCache.cleanUp();
+        attemptsCache.cleanUp();
     }
 }
@@ -20,6 +20,7 @@ import com.backend.bank.repository.AccountRepository;
 import com.backend.bank.repository.CardRepository;
 import com.backend.bank.repository.CustomerRepository;
 import com.backend.bank.repository.VerifyRepository;
+import com.backend.bank.security.data.BlindIndex;
 import com.backend.bank.service.intf.NotificationService;
 import com.backend.bank.service.intf.SignupService;
 import com.backend.bank.utils.EmailUtils;
@@ -57,6 +58,8 @@ public class SignupServiceImpl implements SignupService {
 
     private final VerifyRepository verifyRepository;
 
+    private final BlindIndex blindIndex;
+
     private final RequestValidator<SignupRequest> signupRequestValidator;
 
     private final RequestValidator<AccountRequest> accountRequestValidator;
@@ -133,9 +136,9 @@ public class SignupServiceImpl implements SignupService {
     }
 
     private void checkForExistingAccounts(SignupRequest signupRequest) throws AccountAlreadyExistsException {
-        boolean isEmailUsed = customerRepository.existsByEmail(signupRequest.email());
-        boolean isPhoneNumberUsed = customerRepository.existsByPhoneNumber(signupRequest.phoneNumber());
-        boolean isAccountNumberUsed = accountRepository.existsByAccountNumber(signupRequest.account().accountNumber());
+        boolean isEmailUsed = customerRepository.existsByEmailIndex(blindIndex.email(signupRequest.email()));
+        boolean isPhoneNumberUsed = customerRepository.existsByPhoneNumberIndex(blindIndex.phoneNumber(signupRequest.phoneNumber()));
+        boolean isAccountNumberUsed = accountRepository.existsByAccountNumberIndex(blindIndex.accountNumber(signupRequest.account().accountNumber()));
 
         if (isEmailUsed) {
             throw new AccountAlreadyExistsException("Email already exists: " + signupRequest.email());
@@ -148,7 +151,7 @@ public class SignupServiceImpl implements SignupService {
         }
 
         for (CardRequest cardRequest : signupRequest.card()) {
-            if (cardRepository.existsByCardNumber(cardRequest.cardNumber())) {
+            if (cardRepository.existsByCardNumberIndex(blindIndex.cardNumber(cardRequest.cardNumber()))) {
                 throw new AccountAlreadyExistsException("Card number: " + cardRequest.cardNumber() + " already exists");
             }
         }
@@ -227,7 +230,7 @@ public class SignupServiceImpl implements SignupService {
     }
 
     private void sendVerificationEmail(SignupRequest signupRequest) {
-        Customer customer = customerRepository.findByEmail(signupRequest.email()).orElseThrow();
+        Customer customer = customerRepository.findByEmailIndex(blindIndex.email(signupRequest.email())).orElseThrow();
         String verificationLink = generateVerificationCode(customer);
 
         EmailDetails emailDetails = new EmailDetails();
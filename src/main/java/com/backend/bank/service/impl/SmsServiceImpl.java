@@ -0,0 +1,187 @@
+package com.backend.bank.service.impl;
+
+import com.backend.bank.entity.enums.SmsDeliveryStatus;
+import com.backend.bank.exception.SmsQueueFullException;
+import com.backend.bank.service.intf.SmsService;
+import com.backend.bank.service.sms.SmsProvider;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <pre>
+ * Outbound SMS pipeline. A message goes through:
+ * </pre>
+ *
+ * <dl>
+ *   <dt>{@code smsTaskExecutor}</dt>
+ *   <dd>Bounded queue and worker pool, sized by {@code sms.queue-capacity} and</dd>
+ *   <dd>{@code sms.workers}. The caller only waits for the message to be queued.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code permits}</dt>
+ *   <dd>At most {@link SmsProvider#maxConcurrency()} workers talk to the provider at once.</dd>
+ *   <dd>&nbsp;</dd>
+ *
+ *   <dt>{@code retries}</dt>
+ *   <dd>A retryable failure is queued again after an exponential backoff, from</dd>
+ *   <dd>{@code sms.initial-backoff} doubling up to {@code sms.max-backoff}, for at most</dd>
+ *   <dd>{@code sms.max-attempts} attempts. The wait happens on the scheduler, not on a worker.</dd>
+ * </dl>
+ *
+ * The status of every message is tracked in memory for {@code sms.status-retention}.
+ */
+@Log4j2
+@Service
+public class SmsServiceImpl implements SmsService {
+
+    private final SmsProvider smsProvider;
+
+    private final TaskExecutor smsTaskExecutor;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Semaphore permits;
+
+    private final Cache<String, SmsDeliveryStatus> statuses;
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private final Timer sendTimer;
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter failed;
+
+    public SmsServiceImpl(
+            SmsProvider smsProvider,
+            @Qualifier("smsTaskExecutor") TaskExecutor smsTaskExecutor,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${sms.max-attempts:5}") int maxAttempts,
+            @Value("${sms.initial-backoff:PT1S}") Duration initialBackoff,
+            @Value("${sms.max-backoff:PT1M}") Duration maxBackoff,
+            @Value("${sms.status-retention:PT1H}") Duration statusRetention
+    ) {
+        this.smsProvider = smsProvider;
+        this.smsTaskExecutor = smsTaskExecutor;
+        this.taskScheduler = taskScheduler;
+        this.permits = new Semaphore(smsProvider.maxConcurrency());
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.statuses = CacheBuilder.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .build();
+        this.sendTimer = Timer.builder("sms.send").tag("provider", smsProvider.name()).register(meterRegistry);
+        this.sent = Counter.builder("sms.sent").tag("provider", smsProvider.name()).register(meterRegistry);
+        this.retried = Counter.builder("sms.retried").tag("provider", smsProvider.name()).register(meterRegistry);
+        this.failed = Counter.builder("sms.failed").tag("provider", smsProvider.name()).register(meterRegistry);
+    }
+
+    @Override
+    public String send(String to, String body) throws SmsQueueFullException {
+        SmsMessage message = new SmsMessage(UUID.randomUUID().toString(), to, body);
+        statuses.put(message.id(), SmsDeliveryStatus.QUEUED);
+        try {
+            smsTaskExecutor.execute(() -> deliver(message, 1));
+        } catch (TaskRejectedException e) {
+            statuses.put(message.id(), SmsDeliveryStatus.FAILED);
+            failed.increment();
+            throw new SmsQueueFullException("Too many text messages are waiting to be sent, please try again later");
+        }
+        return message.id();
+    }
+
+    @Override
+    public Optional<SmsDeliveryStatus> status(String messageId) {
+        return Optional.ofNullable(statuses.getIfPresent(messageId));
+    }
+
+    private void deliver(SmsMessage message, int attempt) {
+        statuses.put(message.id(), SmsDeliveryStatus.SENDING);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            retry(message, attempt, new IllegalStateException("Interrupted while waiting for the SMS provider", e));
+            return;
+        }
+
+        try {
+            String providerId = sendTimer.record(() -> smsProvider.send(message.to(), message.body()));
+            statuses.put(message.id(), SmsDeliveryStatus.SENT);
+            sent.increment();
+            log.info("Sent SMS {} to {} via {} on attempt {}. SID: {}",
+                    message.id(), message.to(), smsProvider.name(), attempt, providerId);
+        } catch (RuntimeException e) {
+            if (smsProvider.isRetryable(e)) {
+                retry(message, attempt, e);
+            } else {
+                fail(message, attempt, e);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retry(SmsMessage message, int attempt, RuntimeException cause) {
+        if (attempt >= maxAttempts) {
+            fail(message, attempt, cause);
+            return;
+        }
+
+        Duration backoff = backoff(attempt);
+        statuses.put(message.id(), SmsDeliveryStatus.RETRYING);
+        retried.increment();
+        log.warn("SMS {} to {} failed on attempt {}, retrying in {}: {}",
+                message.id(), message.to(), attempt, backoff, cause.getMessage());
+
+        taskScheduler.schedule(() -> {
+            try {
+                smsTaskExecutor.execute(() -> deliver(message, attempt + 1));
+            } catch (TaskRejectedException e) {
+                fail(message, attempt, e);
+            }
+        }, Instant.now().plus(backoff));
+    }
+
+    private void fail(SmsMessage message, int attempt, RuntimeException cause) {
+        statuses.put(message.id(), SmsDeliveryStatus.FAILED);
+        failed.increment();
+        log.error("SMS {} to {} failed after {} attempts", message.id(), message.to(), attempt, cause);
+    }
+
+    private Duration backoff(int attempt) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private record SmsMessage(String id, String to, String body) {
+    }
+}
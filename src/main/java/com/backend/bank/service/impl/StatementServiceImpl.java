@@ -0,0 +1,149 @@
+package com.backend.bank.service.impl;
+
+import com.backend.bank.dto.response.TransactionResponse;
+import com.backend.bank.entity.Transaction;
+import com.backend.bank.entity.enums.StatementFormat;
+import com.backend.bank.exception.AccountNotExistException;
+import com.backend.bank.repository.AccountRepository;
+import com.backend.bank.repository.TransactionRepository;
+import com.backend.bank.security.data.OpaqueIdCodec;
+import com.backend.bank.service.intf.StatementService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams account statements straight from a database cursor to the response.
+ * <p>
+ * Rows are read with a JDBC fetch size inside one read-only transaction and detached as
+ * soon as they are written, so memory stays flat however long the history is. The writer
+ * is flushed after the header and then every {@link #FLUSH_EVERY} rows, which gets the
+ * first bytes to the client right after the query starts returning.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class StatementServiceImpl implements StatementService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String CSV_HEADER = "id,timestamp,type,status,amount,transfer_to_account";
+
+    private final TransactionRepository transactionRepository;
+
+    private final AccountRepository accountRepository;
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void checkExportable(Long accountId) throws AccountNotExistException {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotExistException("Account not found");
+        }
+    }
+
+    @Override
+    public void exportHistory(Long accountId, StatementFormat format, OutputStream outputStream) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            Long rows = readOnly.execute(status -> {
+                try (Stream<Transaction> transactions = transactionRepository.streamHistory(accountId)) {
+                    return write(transactions.iterator(), format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exported {} transactions of account {} as {}", rows, accountId, format);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long write(Iterator<Transaction> transactions, StatementFormat format, Writer writer) throws IOException {
+        ObjectWriter jsonWriter = objectMapper.writerFor(TransactionResponse.class);
+        if (format == StatementFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        writer.flush();
+
+        long rows = 0;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            switch (format) {
+                case CSV -> writeCsv(transaction, writer);
+                case NDJSON -> writer.write(jsonWriter.writeValueAsString(mapToResponse(transaction)));
+            }
+            writer.write('\n');
+            entityManager.detach(transaction);
+
+            if (++rows % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsv(Transaction transaction, Writer writer) throws IOException {
+        writer.write(opaqueIdCodec.encode(transaction.getId()));
+        writer.write(',');
+        writer.write(transaction.getTimestamp().toString());
+        writer.write(',');
+        writer.write(transaction.getType().name());
+        writer.write(',');
+        writer.write(transaction.getStatus().name());
+        writer.write(',');
+        writer.write(transaction.getAmount().toPlainString());
+        writer.write(',');
+        if (transaction.getTransferToAccount() != null) {
+            writer.write(escapeCsv(transaction.getTransferToAccount()));
+        }
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private TransactionResponse mapToResponse(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getTimestamp(),
+                transaction.getType(),
+                transaction.getStatus(),
+                transaction.getTransferToAccount()
+        );
+    }
+}
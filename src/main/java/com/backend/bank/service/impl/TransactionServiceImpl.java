@@ -1,27 +1,48 @@
 package com.backend.bank.service.impl;
 
+import com.backend.bank.dto.AccountRef;
+import com.backend.bank.dto.CachedAccount;
 import com.backend.bank.dto.EmailDetails;
+import com.backend.bank.dto.Journal;
+import com.backend.bank.dto.request.BatchTransferRequest;
 import com.backend.bank.dto.request.TransactionRequest;
+import com.backend.bank.dto.request.TransferInstruction;
+import com.backend.bank.dto.response.BatchTransferResponse;
+import com.backend.bank.dto.response.TransactionHistoryResponse;
 import com.backend.bank.dto.response.TransactionResponse;
+import com.backend.bank.dto.response.TransferInstructionResult;
 import com.backend.bank.entity.Account;
 import com.backend.bank.entity.Customer;
 import com.backend.bank.entity.Transaction;
 import com.backend.bank.entity.enums.AccountStatus;
+import com.backend.bank.entity.enums.AccountType;
+import com.backend.bank.entity.enums.TransactionHistoryFilter;
 import com.backend.bank.entity.enums.TransactionStatus;
 import com.backend.bank.entity.enums.TransactionType;
 import com.backend.bank.exception.*;
 import com.backend.bank.repository.AccountRepository;
 import com.backend.bank.repository.TransactionRepository;
+import com.backend.bank.repository.TransferBatchRepository;
+import com.backend.bank.repository.TransferBatchRepository.Posting;
+import com.backend.bank.security.data.BlindIndex;
 import com.backend.bank.service.intf.NotificationService;
 import com.backend.bank.service.intf.InterestService;
+import com.backend.bank.service.intf.LedgerService;
 import com.backend.bank.service.intf.TransactionService;
+import com.backend.bank.utils.AccountCache;
+import com.backend.bank.utils.AccountLockManager;
 import com.backend.bank.utils.EmailUtils;
 import com.backend.bank.utils.RequestValidator;
+import com.backend.bank.utils.TransactionCursorCodec;
+import com.backend.bank.utils.TransactionCursorCodec.Position;
+
+import com.google.common.collect.Lists;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mail.MailException;
@@ -30,17 +51,21 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * <pre>
@@ -91,8 +116,17 @@ import java.util.stream.Stream;
  *   <dd>The configuration ensures a rollback if any unexpected errors occur during the transaction.</dd>
  *   <dd>&nbsp;</dd>
 
+ *   <dt>{@code deposit, withdraw, transfer locking:}</dt>
+ *   <dd>The affected accounts are locked through {@link AccountLockManager} before their balance is read,</dd>
+ *   <dd>and stay locked until the transaction completes.</dd>
+ *   <dd>&nbsp;</dd>
+
+ *   <dt>{@code deposit, withdraw, transfer ledger:}</dt>
+ *   <dd>Each balance update posts its journal through {@link LedgerService} in the same transaction.</dd>
+ *   <dd>&nbsp;</dd>
+
  *   <dt>calculateInterest: This method modifies account balances. </dt>
- *   <dd>The configuration ensures a rollback if any unexpected errors occur during the interest calculation or update.</dd>
+ *   <dd>Every chunk of accounts is credited and checkpointed in its own transaction, so a failure only rolls back that chunk.</dd>
  * </dl>
  */
 
@@ -109,8 +143,30 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final InterestService interestService;
 
+    private final BlindIndex blindIndex;
+
+    private final AccountLockManager accountLockManager;
+
+    private final AccountCache accountCache;
+
+    private final TransferBatchRepository transferBatchRepository;
+
+    private final LedgerService ledgerService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionCursorCodec transactionCursorCodec;
+
     private final RequestValidator<TransactionRequest> requestRequestValidator;
 
+    private final RequestValidator<BatchTransferRequest> batchTransferRequestValidator;
+
+    @Value("${transaction.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${transaction.history.max-page-size:100}")
+    private int maxHistoryPageSize;
+
     /**
      * {@code Deposits} a specified amount into an account.
      *
@@ -146,18 +202,20 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         validateAmount(transactionRequest.amount());
-        Account account = validateAccount(accountId);
+        accountLockManager.lockForTransaction(accountId);
 
-        Transaction transaction = createTransaction(account, transactionRequest.amount(), TransactionType.DEPOSIT);
+        credit(accountId, transactionRequest.amount());
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotExistException("Account not found"));
 
-        account.setBalance(account.getBalance().add(transactionRequest.amount()));
-        accountRepository.save(account);
+        Transaction transaction = createTransaction(account, transactionRequest.amount(), TransactionType.DEPOSIT);
 
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction = transactionRepository.save(transaction);
+        ledgerService.post(Journal.deposit(accountId, transactionRequest.amount(), transaction.getId()));
 
         try {
-            sendTransactionSuccessEmail(account.getAccountHolder(), transactionRequest);
+            sendTransactionSuccessEmail(account.getAccountHolder(), transactionRequest, null, null);
         } catch (MailException e) {
             log.error("Failed to send email for transaction: {}", transaction.getId(), e);
         }
@@ -201,23 +259,20 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         validateAmount(transactionRequest.amount());
-        Account account = validateAccount(accountId);
+        accountLockManager.lockForTransaction(accountId);
 
-        boolean isInvalidBalance = account.getBalance().compareTo(transactionRequest.amount()) < 0;
-        if (isInvalidBalance) {
-            throw new InsufficientFundsException("Insufficient funds for withdrawal");
-        }
+        debit(accountId, transactionRequest.amount(), "Insufficient funds for withdrawal");
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotExistException("Account not found"));
 
         Transaction transaction = createTransaction(account, transactionRequest.amount(), TransactionType.WITHDRAWAL);
 
-        account.setBalance(account.getBalance().subtract(transactionRequest.amount()));
-        accountRepository.save(account);
-
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction = transactionRepository.save(transaction);
+        ledgerService.post(Journal.withdrawal(accountId, transactionRequest.amount(), transaction.getId()));
 
         try {
-            sendTransactionSuccessEmail(account.getAccountHolder(), transactionRequest);
+            sendTransactionSuccessEmail(account.getAccountHolder(), transactionRequest, null, null);
         } catch (MailException e) {
             log.error("Failed to send email for transaction: {}", transaction.getId(), e);
         }
@@ -262,36 +317,31 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         validateAmount(transactionRequest.amount());
-        Account account = validateAccount(accountId);
 
-        boolean isInvalidBalance = account.getBalance().compareTo(transactionRequest.amount()) < 0;
-        if (isInvalidBalance) {
-            throw new InsufficientFundsException("Insufficient funds for transfer");
-        }
-
-        Account transferToAccount = accountRepository.findByAccountNumber(transactionRequest.transferToAccount())
+        Long transferToAccountId = accountRepository.findIdByAccountNumberIndex(blindIndex.accountNumber(transactionRequest.transferToAccount()))
                 .orElseThrow(() -> new AccountNotExistException("Transfer to account not found"));
 
-        boolean isTransferToSelf = account.equals(transferToAccount);
+        boolean isTransferToSelf = accountId.equals(transferToAccountId);
         if (isTransferToSelf) {
             throw new CantTransferToSelfException("You can't transfer to yourself!");
         }
 
-        validateAccountStatus(transferToAccount);
+        accountLockManager.lockForTransaction(accountId, transferToAccountId);
+
+        debit(accountId, transactionRequest.amount(), "Insufficient funds for transfer");
+        BigDecimal recipientBalance = creditRecipient(transferToAccountId, transactionRequest.amount());
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotExistException("Account not found"));
 
         Transaction transaction = createTransaction(account, transactionRequest.amount(), TransactionType.TRANSFER);
         transaction.setTransferToAccount(transactionRequest.transferToAccount());
 
-        account.setBalance(account.getBalance().subtract(transactionRequest.amount()));
-        transferToAccount.setBalance(transferToAccount.getBalance().add(transactionRequest.amount()));
-        accountRepository.save(account);
-        accountRepository.save(transferToAccount);
-
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction = transactionRepository.save(transaction);
+        ledgerService.post(Journal.transfer(accountId, transferToAccountId, transactionRequest.amount(), transaction.getId()));
 
         try {
-            sendTransactionSuccessEmail(account.getAccountHolder(), transactionRequest);
+            sendTransactionSuccessEmail(account.getAccountHolder(), transactionRequest, transferToAccountId, recipientBalance);
         } catch (MailException e) {
             log.error("Failed to send email for transaction: {}", transaction.getId(), e);
         }
@@ -299,6 +349,154 @@ public class TransactionServiceImpl implements TransactionService {
         return CompletableFuture.completedFuture(mapToResponse(transaction));
     }
 
+    /**
+     * {@code Transfers} money from an {@code ENTERPRISE} account to many accounts at once.
+     * <p>
+     * Every recipient is resolved with a single query and checked up front. The remaining
+     * postings are applied in chunks of {@code transaction.batch.chunk-size}, each in its own
+     * transaction: the sender row is locked once, recipients are credited and the transaction
+     * rows are inserted with JDBC batches, and the sender is debited once for the whole chunk.
+     * A chunk that fails is rolled back and reported as failed without stopping the batch.
+     * The sender gets one summary email instead of one email per transfer.
+     *
+     * @param accountId            The ID of the sender's account.
+     * @param batchTransferRequest The transfer instructions.
+     *
+     * @return A {@link BatchTransferResponse} with a result per instruction, in request order.
+     *
+     * @throws AccountNotExistException     If the sender account does not exist.
+     * @throws AccountInactiveException     If the sender account is inactive.
+     * @throws AccountFrozenException       If the sender account is frozen.
+     * @throws AccountBannedException       If the sender account is banned.
+     * @throws IllegalAccountTypeException  If the sender account is not an {@code ENTERPRISE} account.
+     */
+    @Override
+    @Async(value = "transactionTaskExecutor")
+    public CompletableFuture<BatchTransferResponse> batchTransfer(
+            Long accountId,
+            BatchTransferRequest batchTransferRequest
+    ) throws AccountNotExistException, AccountInactiveException, AccountFrozenException,
+            AccountBannedException, IllegalAccountTypeException {
+
+        Set<String> violations = batchTransferRequestValidator.validate(batchTransferRequest);
+        if (!violations.isEmpty()) {
+            throw new InputViolationException(String.join("\n", violations));
+        }
+
+        CachedAccount account = validateAccount(accountId);
+        if (account.accountType() != AccountType.ENTERPRISE) {
+            throw new IllegalAccountTypeException("Batch transfers are only available for ENTERPRISE accounts");
+        }
+
+        List<TransferInstruction> instructions = batchTransferRequest.transfers();
+        Map<String, String> indexByAccountNumber = instructions.stream()
+                .map(TransferInstruction::transferToAccount)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), blindIndex::accountNumber));
+        Map<String, AccountRef> recipients = accountRepository.findRefsByAccountNumberIndexIn(indexByAccountNumber.values())
+                .stream()
+                .collect(Collectors.toMap(AccountRef::accountNumberIndex, Function.identity()));
+
+        TransferInstructionResult[] results = new TransferInstructionResult[instructions.size()];
+        List<Posting> postings = new ArrayList<>();
+        for (int i = 0; i < instructions.size(); i++) {
+            TransferInstruction instruction = instructions.get(i);
+            AccountRef recipient = recipients.get(indexByAccountNumber.get(instruction.transferToAccount()));
+            if (recipient == null) {
+                results[i] = failedTransfer(i, instruction, "Transfer to account not found");
+            } else if (recipient.id().equals(accountId)) {
+                results[i] = failedTransfer(i, instruction, "You can't transfer to yourself!");
+            } else if (recipient.accountStatus() != AccountStatus.ACTIVE) {
+                results[i] = failedTransfer(i, instruction, "Transfer to account is " + recipient.accountStatus());
+            } else {
+                postings.add(new Posting(i, recipient.id(), instruction.transferToAccount(), instruction.amount()));
+            }
+        }
+
+        LocalDateTime timestamp = LocalDateTime.now();
+        for (List<Posting> chunk : Lists.partition(postings, batchChunkSize)) {
+            List<TransferInstructionResult> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> postTransferChunk(accountId, chunk, timestamp));
+            } catch (RuntimeException e) {
+                log.error("Batch transfer chunk from account {} failed", accountId, e);
+                chunkResults = chunk.stream()
+                        .map(posting -> transferResult(posting, TransactionStatus.FAILED, "Transfer failed, please try again"))
+                        .toList();
+            }
+            chunkResults.forEach(result -> results[result.index()] = result);
+        }
+
+        BatchTransferResponse response = summarizeBatch(Arrays.asList(results), timestamp);
+        try {
+            accountRepository.findById(accountId)
+                    .ifPresent(sender -> sendBatchTransferEmail(sender.getAccountHolder(), response));
+        } catch (MailException e) {
+            log.error("Failed to send email for batch transfer from account: {}", accountId, e);
+        }
+
+        return CompletableFuture.completedFuture(response);
+    }
+
+    /**
+     * {@code Retrieves} one page of the {@code transaction history} of an account, newest first.
+     * <p>
+     * Pages are read with keyset conditions on {@code (timestamp, id)}, so a deep page costs
+     * the same as the first one and no count query is issued. One extra row is read to tell
+     * whether a next page exists.
+     *
+     * @param accountId The ID of the account.
+     * @param filter    Which transactions to include.
+     * @param cursor    The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size      The size of the page.
+     *
+     * @return The page and the cursor of the next page, {@code null} if this is the last one.
+     *
+     * @throws AccountNotExistException If the account does not exist.
+     * @throws InputViolationException  If the cursor or the size is invalid.
+     */
+    @Override
+    @Async(value = "transactionTaskExecutor")
+    @Transactional(readOnly = true)
+    public CompletableFuture<TransactionHistoryResponse> getTransactionHistory(
+            Long accountId,
+            TransactionHistoryFilter filter,
+            String cursor,
+            int size
+    ) throws AccountNotExistException, InputViolationException {
+
+        if (size < 1 || size > maxHistoryPageSize) {
+            throw new InputViolationException("Page size must be between 1 and " + maxHistoryPageSize);
+        }
+        Position position = transactionCursorCodec.decode(cursor);
+        requireAccount(accountId);
+        Limit limit = Limit.of(size + 1);
+
+        List<Transaction> transactions = switch (filter) {
+            case ALL -> transactionRepository.findHistoryBefore(
+                    accountId, position.timestamp(), position.id(), size + 1);
+            case DEPOSIT -> transactionRepository.findHistoryByTypeBefore(
+                    accountId, TransactionType.DEPOSIT, position.timestamp(), position.id(), limit);
+            case WITHDRAWAL -> transactionRepository.findHistoryByTypeBefore(
+                    accountId, TransactionType.WITHDRAWAL, position.timestamp(), position.id(), limit);
+            case SENT -> transactionRepository.findHistoryByTypeBefore(
+                    accountId, TransactionType.TRANSFER, position.timestamp(), position.id(), limit);
+            case RECEIVED -> transactionRepository.findReceivedHistoryBefore(
+                    accountId, position.timestamp(), position.id(), limit);
+        };
+
+        String nextCursor = null;
+        if (transactions.size() > size) {
+            transactions = transactions.subList(0, size);
+            nextCursor = transactionCursorCodec.encode(transactions.getLast());
+        }
+
+        return CompletableFuture.completedFuture(new TransactionHistoryResponse(
+                transactions.stream().map(this::mapToResponse).toList(),
+                nextCursor
+        ));
+    }
+
     /**
      * {@code Retrieves} all the {@code transaction history} for a given account.
      *
@@ -319,16 +517,18 @@ public class TransactionServiceImpl implements TransactionService {
             int size
     ) throws AccountNotExistException {
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotExistException("Account not found"));
-        String accountNumber = account.getAccountNumber();
-
+        requireAccount(accountId);
         Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> sentTransactions = transactionRepository.findByAccount_AccountNumber(accountNumber, pageable);
-        Page<Transaction> receivedTransactions = transactionRepository.findByTransferToAccount(accountNumber, pageable);
+        List<Transaction> transactions = transactionRepository.findHistoryPage(
+                accountId,
+                TransactionCursorCodec.FIRST.timestamp(),
+                TransactionCursorCodec.FIRST.id(),
+                (int) pageable.getOffset() + size,
+                size,
+                (int) pageable.getOffset()
+        );
 
-        return CompletableFuture.completedFuture(Stream.concat(sentTransactions.stream(), receivedTransactions.stream())
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
+        return CompletableFuture.completedFuture(transactions.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList()));
     }
@@ -346,22 +546,18 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Async(value = "transactionTaskExecutor")
+    @Transactional(readOnly = true)
     public CompletableFuture<List<TransactionResponse>> getDepositTransactionHistory(
             Long accountId,
             int page,
             int size
     ) throws AccountNotExistException {
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotExistException("Account not found"));
-        String accountNumber = account.getAccountNumber();
-
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactions = transactionRepository.findByAccount_AccountNumber(accountNumber, pageable);
+        requireAccount(accountId);
+        List<Transaction> transactions = transactionRepository.findByAccount_IdAndTypeOrderByTimestampDescIdDesc(
+                accountId, TransactionType.DEPOSIT, PageRequest.of(page, size));
 
         return CompletableFuture.completedFuture(transactions.stream()
-                .filter(transaction -> transaction.getType() == TransactionType.DEPOSIT)
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList()));
     }
@@ -379,22 +575,18 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Async(value = "transactionTaskExecutor")
+    @Transactional(readOnly = true)
     public CompletableFuture<List<TransactionResponse>> getWithdrawTransactionHistory(
             Long accountId,
             int page,
             int size
     ) throws AccountNotExistException {
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotExistException("Account not found"));
-        String accountNumber = account.getAccountNumber();
-
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactions = transactionRepository.findByAccount_AccountNumber(accountNumber, pageable);
+        requireAccount(accountId);
+        List<Transaction> transactions = transactionRepository.findByAccount_IdAndTypeOrderByTimestampDescIdDesc(
+                accountId, TransactionType.WITHDRAWAL, PageRequest.of(page, size));
 
         return CompletableFuture.completedFuture(transactions.stream()
-                .filter(transaction -> transaction.getType() == TransactionType.WITHDRAWAL)
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList()));
     }
@@ -412,22 +604,18 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Async(value = "transactionTaskExecutor")
+    @Transactional(readOnly = true)
     public CompletableFuture<List<TransactionResponse>> getSentTransactionHistory(
             Long accountId,
             int page,
             int size
     ) throws AccountNotExistException {
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotExistException("Account not found"));
-        String accountNumber = account.getAccountNumber();
-
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactions = transactionRepository.findByAccount_AccountNumber(accountNumber, pageable);
+        requireAccount(accountId);
+        List<Transaction> transactions = transactionRepository.findByAccount_IdAndTypeOrderByTimestampDescIdDesc(
+                accountId, TransactionType.TRANSFER, PageRequest.of(page, size));
 
         return CompletableFuture.completedFuture(transactions.stream()
-                .filter(transaction -> transaction.getType() == TransactionType.TRANSFER)
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList()));
     }
@@ -445,76 +633,43 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Async(value = "transactionTaskExecutor")
+    @Transactional(readOnly = true)
     public CompletableFuture<List<TransactionResponse>> getReceivedTransactionHistory(
             Long accountId,
             int page,
             int size
     ) throws AccountNotExistException {
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotExistException("Account not found"));
-        String accountNumber = account.getAccountNumber();
-
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactions = transactionRepository.findAllByTransferToAccount(accountNumber, pageable);
+        requireAccount(accountId);
+        List<Transaction> transactions = transactionRepository.findReceivedHistory(accountId, PageRequest.of(page, size));
 
         return CompletableFuture.completedFuture(transactions.stream()
-                .filter(transaction -> transaction.getType() == TransactionType.TRANSFER)
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList()));
     }
 
     /**
-     * {@code Add interest} to the users' account at the {@code beginning day of the month}
+     * {@code Add interest} to the users' account at the {@code beginning day of the month}.
+     * Posting is delegated to the chunked {@link InterestService#postInterest} job, which can be
+     * re-run for the same month without crediting any account twice.
      */
     @Override
-    @Transactional(
-            rollbackFor = Exception.class,
-            noRollbackFor = MailException.class
-    )
     @Scheduled(cron = "0 0 0 1 * ?")
     public void calculateInterest() {
-        Iterable<Account> accounts = accountRepository.findAll();
-        for (Account account : accounts) {
-            BigDecimal interestRate = account.getInterest();
-            BigDecimal interest = account.getBalance().multiply(interestRate);
-            try {
-                interestService.addInterest(account.getAccountNumber(), interest);
-                sendInterestNotification(account, interest);
-            } catch (AccountNotExistException e) {
-                log.error("[Timestamp: {}] Error when trying to add interest to account: + {}. [Error] + {} : + {}",
-                        LocalTime.now(),
-                        account.getAccountNumber(),
-                        e.getCause(),
-                        e.getMessage()
-                );
-            } catch (MailException e) {
-                log.error("[Timestamp: {}] Error when trying send interest email to account: + {}. [Error] + {} : + {}",
-                        LocalTime.now(),
-                        account.getAccountNumber(),
-                        e.getCause(),
-                        e.getMessage()
-                );
-            } catch (Exception e) {
-                log.error("[Timestamp: {}] Something when wrong! {}: {}.",  LocalTime.now(), e.getCause(), e.getMessage());
-            }
-        }
+        interestService.postInterest(YearMonth.now());
     }
 
     /**
-     * {@code Send Email Notification}.
+     * {@code Checks} that an account exists without loading it.
      *
-     * @param account   The account of receiver
-     * @param interest  the amount money of interest earned
+     * @param accountId The ID of the account.
      *
-     * @throws MailException If the mail is failed.
+     * @throws AccountNotExistException If the account does not exist.
      */
-    private void sendInterestNotification(Account account, BigDecimal interest) throws MailException {
-        EmailDetails emailDetails = new EmailDetails();
-        emailDetails.setSubject("RECEIVING MONTHLY INTEREST");
-        emailDetails.setBody(EmailUtils.sendEmailOnReceivingInterest(account, interest, LocalDate.now()));
-        notificationService.sendEmailToCustomer(emailDetails);
+    private void requireAccount(Long accountId) throws AccountNotExistException {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotExistException("Account not found");
+        }
     }
 
     /**
@@ -533,40 +688,120 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * {@code Validates} the {@code account status}.
+     * {@code Debits} an account with a single guarded update.
+     * If nothing was updated, the account is loaded once to report why.
+     *
+     * @param accountId                The ID of the account.
+     * @param amount                   The amount to debit.
+     * @param insufficientFundsMessage The message used when the balance is too low.
+     *
+     * @throws AccountNotExistException   If the account does not exist.
+     * @throws AccountInactiveException   If the account is inactive.
+     * @throws AccountFrozenException     If the account is frozen.
+     * @throws AccountBannedException     If the account is banned.
+     * @throws InsufficientFundsException If the balance is lower than the amount.
+     */
+    private void debit(Long accountId, BigDecimal amount, String insufficientFundsMessage)
+            throws AccountNotExistException, AccountInactiveException, AccountFrozenException,
+            AccountBannedException, InsufficientFundsException {
+
+        if (accountRepository.debit(accountId, amount) == 0) {
+            accountCache.evict(accountId);
+            validateAccount(accountId);
+            throw new InsufficientFundsException(insufficientFundsMessage);
+        }
+    }
+
+    /**
+     * {@code Credits} an active account with a single guarded update.
+     * If nothing was updated, the account is loaded once to report why.
+     *
+     * @param accountId The ID of the account.
+     * @param amount    The amount to credit.
+     *
+     * @throws AccountNotExistException If the account does not exist.
+     * @throws AccountInactiveException If the account is inactive.
+     * @throws AccountFrozenException   If the account is frozen.
+     * @throws AccountBannedException   If the account is banned.
+     */
+    private void credit(Long accountId, BigDecimal amount)
+            throws AccountNotExistException, AccountInactiveException,
+            AccountFrozenException, AccountBannedException {
+
+        if (accountRepository.credit(accountId, amount) == 0) {
+            accountCache.evict(accountId);
+            validateAccount(accountId);
+            throw new AccountInactiveException("Your account is INACTIVE!");
+        }
+    }
+
+    /**
+     * {@code Credits} the recipient of a transfer with a single guarded update.
+     * If nothing was updated, the recipient is loaded once to report why.
+     *
+     * @param transferToAccountId The ID of the recipient's account.
+     * @param amount              The amount to credit.
+     *
+     * @return The recipient's balance right after the credit.
+     *
+     * @throws AccountNotExistException If the recipient account does not exist.
+     * @throws AccountInactiveException If the recipient account is inactive.
+     * @throws AccountFrozenException   If the recipient account is frozen.
+     * @throws AccountBannedException   If the recipient account is banned.
+     */
+    private BigDecimal creditRecipient(Long transferToAccountId, BigDecimal amount)
+            throws AccountNotExistException, AccountInactiveException,
+            AccountFrozenException, AccountBannedException {
+
+        if (accountRepository.credit(transferToAccountId, amount) == 0) {
+            accountCache.evict(transferToAccountId);
+            CachedAccount recipient = accountCache.get(transferToAccountId)
+                    .orElseThrow(() -> new AccountNotExistException("Transfer to account not found"));
+            switch (recipient.accountStatus()) {
+                case FROZEN -> throw new AccountFrozenException("This account is frozen! You can not perform any transactions with this account!");
+                case BANNED -> throw new AccountBannedException("The receiver are banned!!!");
+                default -> throw new AccountInactiveException("Recipient account is not active");
+            }
+        }
+        return accountRepository.findBalanceById(transferToAccountId)
+                .orElseThrow(() -> new AccountNotExistException("Transfer to account not found"));
+    }
+
+    /**
+     * {@code Validates} the {@code account status}, read through the {@link AccountCache}.
      *
      * @param accountId The ID of the account to be validated.
      *
-     * @return The validated {@link Account}.
+     * @return The validated {@link CachedAccount}.
      *
      * @throws AccountNotExistException If the account does not exist.
      * @throws AccountInactiveException If the account is inactive.
      * @throws AccountFrozenException If the account is frozen.
      * @throws AccountBannedException If the account is banned.
      */
-    private Account validateAccount(Long accountId)
+    private CachedAccount validateAccount(Long accountId)
             throws AccountNotExistException, AccountInactiveException,
             AccountFrozenException, AccountBannedException {
 
-        Account account = accountRepository.findById(accountId)
+        CachedAccount account = accountCache.get(accountId)
                 .orElseThrow(() -> new AccountNotExistException("Account not found"));
-        validateAccountStatus(account);
+        validateAccountStatus(account.accountStatus());
         return account;
     }
 
     /**
      * {@code Validates} the {@code status of an account}.
      *
-     * @param account The account to be validated.
+     * @param accountStatus The status to be validated.
      *
      * @throws AccountInactiveException If the account is inactive.
      * @throws AccountFrozenException If the account is frozen.
      * @throws AccountBannedException If the account is banned.
      */
-    private void validateAccountStatus(Account account)
+    private void validateAccountStatus(AccountStatus accountStatus)
             throws AccountInactiveException, AccountFrozenException, AccountBannedException {
 
-        switch (account.getAccountStatus()) {
+        switch (accountStatus) {
             case INACTIVE -> throw new AccountInactiveException("Your account is INACTIVE!");
             case FROZEN -> throw new AccountFrozenException("Your account is frozen! You cannot perform any transactions!");
             case BANNED -> throw new AccountBannedException("Your account is BANNED!");
@@ -593,16 +828,114 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * {@code Sends} a success {@code email} for the {@code transaction}.
+     * {@code Posts} one chunk of a batch transfer inside the current transaction.
+     * <p>
+     * Only the sender's stripe is locked. Recipients are credited by guarded row updates that are
+     * atomic on their own, so a chunk never holds more than one stripe while it runs.
+     *
+     * @param accountId The ID of the sender's account.
+     * @param chunk     The postings of the chunk.
+     * @param timestamp The timestamp of the batch.
+     *
+     * @return The result of every posting in the chunk.
+     */
+    private List<TransferInstructionResult> postTransferChunk(Long accountId, List<Posting> chunk, LocalDateTime timestamp) {
+        accountLockManager.lockForTransaction(accountId);
+        BigDecimal available = transferBatchRepository.lockBalance(accountId);
+
+        List<TransferInstructionResult> results = new ArrayList<>(chunk.size());
+        List<Posting> funded = new ArrayList<>(chunk.size());
+        for (Posting posting : chunk) {
+            if (available.compareTo(posting.amount()) < 0) {
+                results.add(transferResult(posting, TransactionStatus.FAILED, "Insufficient funds for transfer"));
+            } else {
+                available = available.subtract(posting.amount());
+                funded.add(posting);
+            }
+        }
+
+        funded.sort(Comparator.comparing(Posting::recipientId));
+        int[] credited = transferBatchRepository.creditAll(funded);
+
+        List<Posting> applied = new ArrayList<>(funded.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < funded.size(); i++) {
+            Posting posting = funded.get(i);
+            if (credited[i] == 0) {
+                results.add(transferResult(posting, TransactionStatus.FAILED, "Transfer to account is not active"));
+            } else {
+                applied.add(posting);
+                total = total.add(posting.amount());
+                results.add(transferResult(posting, TransactionStatus.COMPLETED, "Transfer completed"));
+            }
+        }
+
+        if (applied.isEmpty()) {
+            return results;
+        }
+        if (transferBatchRepository.debit(accountId, total) == 0) {
+            throw new InsufficientFundsException("Insufficient funds for transfer");
+        }
+        List<Long> transactionIds = transferBatchRepository.insertTransfers(accountId, applied, timestamp);
+        List<Journal> journals = new ArrayList<>(applied.size());
+        for (int i = 0; i < applied.size(); i++) {
+            Posting posting = applied.get(i);
+            journals.add(Journal.transfer(accountId, posting.recipientId(), posting.amount(), transactionIds.get(i)));
+        }
+        ledgerService.postAll(journals);
+        return results;
+    }
+
+    private TransferInstructionResult failedTransfer(int index, TransferInstruction instruction, String message) {
+        return new TransferInstructionResult(index, instruction.transferToAccount(), instruction.amount(), TransactionStatus.FAILED, message);
+    }
+
+    private TransferInstructionResult transferResult(Posting posting, TransactionStatus status, String message) {
+        return new TransferInstructionResult(posting.index(), posting.transferToAccount(), posting.amount(), status, message);
+    }
+
+    private BatchTransferResponse summarizeBatch(List<TransferInstructionResult> results, LocalDateTime timestamp) {
+        int completed = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (TransferInstructionResult result : results) {
+            if (result.status() == TransactionStatus.COMPLETED) {
+                completed++;
+                total = total.add(result.amount());
+            }
+        }
+        return new BatchTransferResponse(completed, results.size() - completed, total, timestamp, results);
+    }
+
+    /**
+     * Sends one summary {@code email} for a batch transfer.
+     *
+     * @param customer The owner of the sender's account.
+     * @param response The outcome of the batch.
+     *
+     * @throws MailException If the mail is failed.
+     */
+    private void sendBatchTransferEmail(Customer customer, BatchTransferResponse response) throws MailException {
+        EmailDetails emailToCustomer = new EmailDetails();
+        emailToCustomer.setReceiver(customer.getEmail());
+        emailToCustomer.setSubject("BATCH TRANSFER");
+        emailToCustomer.setBody(EmailUtils.sendEmailOnBatchTransfer(customer, response, new Date()));
+        notificationService.sendEmailToCustomer(emailToCustomer);
+    }
+
+    /**
+     * {@code Sends} a success {@code email} for the {@code transaction}, and for a transfer a notice
+     * to the recipient. Both go through the notification outbox.
      *
      * @param customer The customer associated with the transaction.
      * @param transactionRequest The transaction request details.
+     * @param transferToAccountId The recipient account of a transfer, {@code null} otherwise.
+     * @param recipientBalance The recipient's balance after a transfer, {@code null} otherwise.
      *
      * @throws UnknownTransactionTypeException If the transaction type is unknown.
-     * @throws AccountNotExistException If the account does not exist.
      */
-    private void sendTransactionSuccessEmail(Customer customer, TransactionRequest transactionRequest)
-            throws UnknownTransactionTypeException, AccountNotExistException {
+    private void sendTransactionSuccessEmail(Customer customer, TransactionRequest transactionRequest, Long transferToAccountId,
+                                             BigDecimal recipientBalance)
+            throws UnknownTransactionTypeException {
 
         EmailDetails emailToCustomer = new EmailDetails();
         emailToCustomer.setReceiver(customer.getEmail());
@@ -619,7 +952,7 @@ public class TransactionServiceImpl implements TransactionService {
                 Date transferDate = new Date();
                 emailToCustomer.setBody(EmailUtils.sendEmailOnTransfer(customer, transactionRequest, transferDate));
                 notificationService.sendEmailToCustomer(emailToCustomer);
-                sendTransactionEmailToReceiver(transactionRequest, transferDate);
+                notificationService.sendTransferReceivedEmail(transferToAccountId, transactionRequest, recipientBalance);
                 break;
             case DEPOSIT:
                 emailToCustomer.setBody(EmailUtils.sendEmailOnDeposit(customer, transactionRequest, new Date()));
@@ -636,28 +969,6 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
-    /**
-     * Sends an {@code email notification} to the receiver of a transfer.
-     *
-     * @param transactionRequest The transaction request details.
-     *
-     * @throws AccountNotExistException If the receiver account does not exist.
-     */
-    private void sendTransactionEmailToReceiver(TransactionRequest transactionRequest, Date receivedDate)
-            throws AccountNotExistException {
-
-        Customer receiver = accountRepository.findByAccountNumber(transactionRequest.transferToAccount())
-                .orElseThrow(() -> new AccountNotExistException("Account does not exist: " + transactionRequest.transferToAccount()))
-                .getAccountHolder();
-
-        EmailDetails emailToReceiver = new EmailDetails();
-        emailToReceiver.setReceiver(receiver.getEmail());
-        emailToReceiver.setSubject("TRANSFER");
-        emailToReceiver.setBody(EmailUtils.sendEmailOnReceiving(receiver, transactionRequest, receivedDate));
-
-        notificationService.sendEmailToCustomer(emailToReceiver);
-    }
-
     /**
      * Maps a {@link Transaction} entity to a {@link TransactionResponse}.
      *
@@ -761,7 +1072,7 @@ public class TransactionServiceImpl implements TransactionService {
                 if (account.getBalance().compareTo(transactionRequest.amount()) < 0) {
                     throw new InsufficientFundsException("Insufficient funds for transfer");
                 }
-                Account transferToAccount = accountRepository.findByAccountNumber(transactionRequest.transferToAccount())
+                Account transferToAccount = accountRepository.findByAccountNumberIndex(blindIndex.accountNumber(transactionRequest.transferToAccount()))
                         .orElseThrow(() -> new AccountNotExistException("Transfer to account not found"));
 
                 switch (transferToAccount.getAccountStatus()) {
@@ -775,6 +1086,8 @@ public class TransactionServiceImpl implements TransactionService {
                 accountRepository.save(transferToAccount);
                 transaction.setStatus(TransactionStatus.COMPLETED);
                 break;
+            default:
+                throw new UnknownTransactionTypeException("Invalid transaction operation!" + transactionRequest.type());
         }
 
         accountRepository.save(account);
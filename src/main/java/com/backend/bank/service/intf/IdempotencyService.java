@@ -0,0 +1,30 @@
+package com.backend.bank.service.intf;
+
+import com.backend.bank.exception.IdempotencyKeyInProgressException;
+import com.backend.bank.exception.IdempotencyKeyReuseException;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Service
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code action} at most once per {@code operation}, account and client supplied key.
+     * Repeated calls with the same key get the first successful response, concurrent
+     * duplicates wait on the execution already in flight. Without a key the action simply runs.
+     *
+     * @throws IdempotencyKeyReuseException      If the key was used with a different request.
+     * @throws IdempotencyKeyInProgressException If the key is being executed by another instance.
+     */
+    <T> CompletableFuture<T> execute(
+            String operation,
+            Long accountId,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<CompletableFuture<T>> action
+    ) throws IdempotencyKeyReuseException, IdempotencyKeyInProgressException;
+}
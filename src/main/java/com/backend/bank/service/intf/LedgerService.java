@@ -0,0 +1,23 @@
+package com.backend.bank.service.intf;
+
+import com.backend.bank.dto.Journal;
+import com.backend.bank.exception.AccountNotExistException;
+
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public interface LedgerService {
+    void post(Journal journal);
+
+    void postAll(List<Journal> journals);
+
+    BigDecimal replayBalance(Long accountId);
+
+    BigDecimal balanceAt(Long accountId, LocalDateTime at) throws AccountNotExistException;
+
+    void takeSnapshots();
+}
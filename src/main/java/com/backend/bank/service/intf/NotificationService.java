@@ -1,17 +1,39 @@
 package com.backend.bank.service.intf;
 
 import com.backend.bank.dto.EmailDetails;
+import com.backend.bank.dto.request.TransactionRequest;
 import com.backend.bank.entity.Account;
 import com.backend.bank.entity.Transaction;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.Map;
+
 @Service
 public interface NotificationService {
 
-    @Async(value = "emailTaskExecutor")
+    /**
+     * Writes the email to the outbox in the current transaction. It is sent by the outbox
+     * dispatcher once that transaction has committed, and never if it rolls back.
+     */
     void sendEmailToCustomer(EmailDetails emailDetails);
 
+    /**
+     * Writes the notice for the recipient of a transfer to the outbox, together with the
+     * recipient's balance right after the credit. The recipient is only looked up when the
+     * notice is dispatched.
+     */
+    void sendTransferReceivedEmail(Long recipientAccountId, TransactionRequest transactionRequest, BigDecimal recipientBalance);
+
+    /**
+     * Writes one monthly interest notice per account to the outbox in a single batch, in the
+     * transaction that credits the interest. The account holders are only looked up when the
+     * notices are dispatched.
+     *
+     * @param interestByAccountId The interest earned, by account id.
+     */
+    void sendInterestReceivedEmails(Map<Long, BigDecimal> interestByAccountId);
+
     void sendTransactionNotification(Transaction transaction);
 
     void sendLowBalanceAlert(Account account);
@@ -0,0 +1,25 @@
+package com.backend.bank.service.intf;
+
+import com.backend.bank.entity.enums.SmsDeliveryStatus;
+import com.backend.bank.exception.SmsQueueFullException;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public interface SmsService {
+
+    /**
+     * Queues a text message for delivery and returns without waiting for the provider.
+     *
+     * @return The id to look the delivery status up with.
+     * @throws SmsQueueFullException If the outbound queue is full.
+     */
+    String send(String to, String body) throws SmsQueueFullException;
+
+    /**
+     * @return The delivery status of a recently queued message, empty once it is no longer tracked.
+     */
+    Optional<SmsDeliveryStatus> status(String messageId);
+}
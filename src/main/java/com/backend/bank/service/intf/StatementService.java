@@ -0,0 +1,34 @@
+package com.backend.bank.service.intf;
+
+import com.backend.bank.entity.enums.StatementFormat;
+import com.backend.bank.exception.AccountNotExistException;
+
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public interface StatementService {
+
+    /**
+     * {@code Checks} that a statement can be exported for an account,
+     * before the response is committed.
+     *
+     * @param accountId The ID of the account.
+     *
+     * @throws AccountNotExistException If the account does not exist.
+     */
+    void checkExportable(Long accountId) throws AccountNotExistException;
+
+    /**
+     * {@code Writes} the full transaction history of an account, newest first.
+     *
+     * @param accountId    The ID of the account.
+     * @param format       The output format.
+     * @param outputStream Where the statement is written to.
+     *
+     * @throws IOException If writing to the stream fails.
+     */
+    void exportHistory(Long accountId, StatementFormat format, OutputStream outputStream) throws IOException;
+}
@@ -1,7 +1,11 @@
 package com.backend.bank.service.intf;
 
+import com.backend.bank.dto.request.BatchTransferRequest;
 import com.backend.bank.dto.request.TransactionRequest;
+import com.backend.bank.dto.response.BatchTransferResponse;
+import com.backend.bank.dto.response.TransactionHistoryResponse;
 import com.backend.bank.dto.response.TransactionResponse;
+import com.backend.bank.entity.enums.TransactionHistoryFilter;
 import com.backend.bank.exception.*;
 
 import org.springframework.scheduling.annotation.Scheduled;
@@ -75,6 +79,43 @@ public interface TransactionService {
             AccountFrozenException, AccountBannedException, InsufficientFundsException,
             UnknownTransactionTypeException, CantTransferToSelfException;
 
+    /**
+     * {@code Transfers} money from an {@code ENTERPRISE} account to many accounts at once.
+     * Recipients are resolved in one query and postings are applied in chunks,
+     * each chunk in its own transaction. A failed transfer does not stop the batch.
+     *
+     * @param accountId            The ID of the sender's account.
+     * @param batchTransferRequest The transfer instructions.
+     *
+     * @return A {@link BatchTransferResponse} with a result per instruction, in request order.
+     *
+     * @throws AccountNotExistException     If the sender account does not exist.
+     * @throws AccountInactiveException     If the sender account is inactive.
+     * @throws AccountFrozenException       If the sender account is frozen.
+     * @throws AccountBannedException       If the sender account is banned.
+     * @throws IllegalAccountTypeException  If the sender account is not an {@code ENTERPRISE} account.
+     */
+    CompletableFuture<BatchTransferResponse> batchTransfer(Long accountId, BatchTransferRequest batchTransferRequest)
+            throws AccountNotExistException, AccountInactiveException, AccountFrozenException,
+            AccountBannedException, IllegalAccountTypeException;
+
+    /**
+     * {@code Retrieves} one page of the {@code transaction history} of an account, newest first,
+     * using keyset paging on {@code (timestamp, id)} instead of offsets.
+     *
+     * @param accountId The ID of the account.
+     * @param filter    Which transactions to include.
+     * @param cursor    The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size      The size of the page.
+     *
+     * @return The page and the cursor of the next page, {@code null} if this is the last one.
+     *
+     * @throws AccountNotExistException If the account does not exist.
+     * @throws InputViolationException  If the cursor or the size is invalid.
+     */
+    CompletableFuture<TransactionHistoryResponse> getTransactionHistory(Long accountId, TransactionHistoryFilter filter, String cursor, int size)
+            throws AccountNotExistException, InputViolationException;
+
     /**
      * {@code Retrieves} all the {@code transaction history} for a given account.
      *
@@ -0,0 +1,256 @@
+package com.backend.bank.service.mail;
+
+import com.backend.bank.dto.EmailDetails;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends batches of emails over a small pool of open SMTP transports.
+ * <p>
+ * {@link JavaMailSenderImpl} opens and closes an SMTP conversation on every {@code send}
+ * call. This sender keeps up to {@code mail.pool.size} connected transports and writes a
+ * whole batch through one of them, reconnecting only when the server dropped it. Connection
+ * settings are the ones of the {@code spring.mail} sender, so pointing {@code spring.mail.host}
+ * and {@code spring.mail.port} at a local SMTP stand-in exercises the same path.
+ * <p>
+ * Each batch is timed as {@code mail.batch}, and its throughput is logged in messages per second.
+ */
+@Log4j2
+@Component
+public class PooledMailSender {
+
+    private final JavaMailSenderImpl javaMailSender;
+
+    private final BlockingQueue<Transport> idle = new LinkedBlockingQueue<>();
+
+    private final Semaphore transports;
+
+    private final Duration borrowTimeout;
+
+    private final Timer batchTimer;
+
+    private final Counter sent;
+
+    private final Counter failed;
+
+    public PooledMailSender(
+            JavaMailSenderImpl javaMailSender,
+            MeterRegistry meterRegistry,
+            @Value("${mail.pool.size:2}") int poolSize,
+            @Value("${mail.pool.borrow-timeout:PT30S}") Duration borrowTimeout
+    ) {
+        this.javaMailSender = javaMailSender;
+        this.transports = new Semaphore(poolSize);
+        this.borrowTimeout = borrowTimeout;
+        this.batchTimer = Timer.builder("mail.batch").register(meterRegistry);
+        this.sent = Counter.builder("mail.sent").register(meterRegistry);
+        this.failed = Counter.builder("mail.failed").register(meterRegistry);
+    }
+
+    /**
+     * Sends the emails in order over one pooled transport.
+     *
+     * @return The failure of every email that was not sent, by its index in {@code emails}.
+     * A {@link MailParseException} or {@link MailPreparationException} means the email itself
+     * is unusable, any other {@link MailException} that it may be sent on a later attempt.
+     */
+    public Map<Integer, MailException> sendBatch(List<EmailDetails> emails, String from) {
+        Map<Integer, MailException> failures = new HashMap<>();
+        if (emails.isEmpty()) {
+            return failures;
+        }
+
+        long start = System.nanoTime();
+        Transport transport;
+        try {
+            transport = borrow();
+        } catch (MailException e) {
+            for (int i = 0; i < emails.size(); i++) {
+                failures.put(i, e);
+            }
+            failed.increment(emails.size());
+            return failures;
+        }
+
+        int reconnectedAt = -1;
+        try {
+            for (int i = 0; i < emails.size(); i++) {
+                MimeMessage message;
+                try {
+                    message = toMimeMessage(emails.get(i), from);
+                } catch (MailException e) {
+                    failures.put(i, e);
+                    continue;
+                }
+
+                try {
+                    transport.sendMessage(message, message.getAllRecipients());
+                } catch (MessagingException e) {
+                    if (reconnectedAt == i || transport.isConnected()) {
+                        failures.put(i, toMailException(e));
+                        continue;
+                    }
+                    try {
+                        transport = reconnect(transport);
+                    } catch (MailException reconnectFailure) {
+                        for (int j = i; j < emails.size(); j++) {
+                            failures.putIfAbsent(j, reconnectFailure);
+                        }
+                        break;
+                    }
+                    reconnectedAt = i;
+                    i--;
+                }
+            }
+        } finally {
+            release(transport);
+        }
+
+        long nanos = System.nanoTime() - start;
+        batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        sent.increment(emails.size() - failures.size());
+        failed.increment(failures.size());
+        log.info("Sent {} of {} emails in {} ms ({} messages/s)",
+                emails.size() - failures.size(),
+                emails.size(),
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                String.format("%.1f", (emails.size() - failures.size()) * 1e9 / Math.max(nanos, 1)));
+        return failures;
+    }
+
+    @PreDestroy
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailDetails emailDetails, String from) throws MailException {
+        SimpleMailMessage simpleMessage = new SimpleMailMessage();
+        simpleMessage.setFrom(from);
+        simpleMessage.setTo(emailDetails.getReceiver());
+        simpleMessage.setSubject(emailDetails.getSubject());
+        simpleMessage.setText(emailDetails.getBody());
+
+        MimeMessage message = javaMailSender.createMimeMessage();
+        try {
+            simpleMessage.copyTo(new MimeMailMessage(message));
+            message.saveChanges();
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
+        return message;
+    }
+
+    private Transport borrow() throws MailException {
+        try {
+            if (!transports.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP transport available within " + borrowTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP transport", e);
+        }
+
+        Transport transport = idle.poll();
+        try {
+            return transport != null && transport.isConnected() ? transport : reconnect(transport);
+        } catch (MailException e) {
+            transports.release();
+            throw e;
+        }
+    }
+
+    private void release(Transport transport) {
+        if (transport.isConnected()) {
+            idle.offer(transport);
+        } else {
+            closeQuietly(transport);
+        }
+        transports.release();
+    }
+
+    private Transport reconnect(Transport stale) throws MailException {
+        if (stale != null) {
+            closeQuietly(stale);
+        }
+        try {
+            Session session = javaMailSender.getSession();
+            Transport transport = session.getTransport(protocol(session));
+            transport.connect(
+                    javaMailSender.getHost(),
+                    javaMailSender.getPort(),
+                    javaMailSender.getUsername(),
+                    javaMailSender.getPassword());
+            return transport;
+        } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+        } catch (MessagingException e) {
+            throw new MailSendException("Failed to connect to the SMTP server", e);
+        }
+    }
+
+    /**
+     * Same fallback as {@link JavaMailSenderImpl}: the sender's protocol, then the session's, then SMTP.
+     */
+    private String protocol(Session session) {
+        if (javaMailSender.getProtocol() != null) {
+            return javaMailSender.getProtocol();
+        }
+        String protocol = session.getProperty("mail.transport.protocol");
+        return protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    /**
+     * Recipients rejected by the server fail the same way on every attempt.
+     */
+    private MailException toMailException(MessagingException e) {
+        if (e instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null
+                && sendFailed.getInvalidAddresses().length > 0) {
+            return new MailParseException("Invalid recipient", e);
+        }
+        return new MailSendException("Failed to send email", e);
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP transport: {}", e.getMessage());
+        }
+    }
+}
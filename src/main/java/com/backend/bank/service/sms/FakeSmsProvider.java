@@ -0,0 +1,72 @@
+package com.backend.bank.service.sms;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for a real SMS gateway, enabled with {@code sms.provider=fake}.
+ * <p>
+ * Every send takes {@code sms.fake.latency} and fails with probability
+ * {@code sms.fake.failure-rate}, so the dispatch pipeline can be measured and its retries
+ * exercised without the network. Nothing leaves the process.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "sms.provider", havingValue = "fake")
+public class FakeSmsProvider implements SmsProvider {
+
+    private final Duration latency;
+
+    private final double failureRate;
+
+    private final int maxConcurrency;
+
+    private final AtomicLong delivered = new AtomicLong();
+
+    public FakeSmsProvider(
+            @Value("${sms.fake.latency:PT0.05S}") Duration latency,
+            @Value("${sms.fake.failure-rate:0}") double failureRate,
+            @Value("${sms.fake.max-concurrency:16}") int maxConcurrency
+    ) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public String name() {
+        return "fake";
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public String send(String to, String body) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending SMS", e);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Simulated SMS provider failure");
+        }
+        log.debug("Fake SMS #{} to {}: {}", delivered.incrementAndGet(), to, body);
+        return "fake-" + UUID.randomUUID();
+    }
+
+    public long delivered() {
+        return delivered.get();
+    }
+}
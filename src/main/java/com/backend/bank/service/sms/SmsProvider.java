@@ -0,0 +1,26 @@
+package com.backend.bank.service.sms;
+
+/**
+ * Delivers a single text message. Selected with {@code sms.provider}.
+ */
+public interface SmsProvider {
+
+    String name();
+
+    /**
+     * Maximum number of messages handed to this provider at the same time.
+     */
+    int maxConcurrency();
+
+    /**
+     * @return The provider's id of the accepted message.
+     */
+    String send(String to, String body);
+
+    /**
+     * Whether a failed send may succeed when tried again.
+     */
+    default boolean isRetryable(RuntimeException e) {
+        return true;
+    }
+}
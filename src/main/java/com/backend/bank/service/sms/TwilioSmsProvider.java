@@ -0,0 +1,62 @@
+package com.backend.bank.service.sms;
+
+import com.twilio.Twilio;
+import com.twilio.exception.ApiException;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "sms.provider", havingValue = "twilio", matchIfMissing = true)
+public class TwilioSmsProvider implements SmsProvider {
+
+    private final String twilioPhoneNumber;
+
+    private final int maxConcurrency;
+
+    public TwilioSmsProvider(
+            @Value("${twilio.account-sid}") String accountSid,
+            @Value("${twilio.auth-token}") String authToken,
+            @Value("${twilio.phone-number}") String twilioPhoneNumber,
+            @Value("${sms.twilio.max-concurrency:4}") int maxConcurrency
+    ) {
+        this.twilioPhoneNumber = twilioPhoneNumber;
+        this.maxConcurrency = maxConcurrency;
+        Twilio.init(accountSid, authToken);
+    }
+
+    @Override
+    public String name() {
+        return "twilio";
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public String send(String to, String body) {
+        return Message.creator(
+                new PhoneNumber(to),
+                new PhoneNumber(twilioPhoneNumber),
+                body
+        ).create().getSid();
+    }
+
+    /**
+     * Client errors other than throttling are rejections of the message itself, such as an
+     * invalid number, and fail the same way on every attempt.
+     */
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        if (e instanceof ApiException apiException && apiException.getStatusCode() != null) {
+            int status = apiException.getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return true;
+    }
+}
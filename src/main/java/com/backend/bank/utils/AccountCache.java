@@ -0,0 +1,83 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.dto.CachedAccount;
+import com.backend.bank.repository.AccountRepository;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache of {@link CachedAccount} over the {@code accounts} cache.
+ * <p>
+ * Every write to an account or its owner evicts the entry twice: when the change is made and
+ * again once its transaction completes. Each eviction also bumps a per-stripe generation, and
+ * a load only fills the cache if the generation of its stripe did not move while it read the
+ * database. A reader racing a status change therefore cannot put the old status back after
+ * the eviction, so a ban is visible to the next check on this instance.
+ * <p>
+ * Money never moves on a cached status: debits and credits are guarded by the account status
+ * in SQL, and a failed guard reloads the account from the database before reporting why.
+ */
+@Component
+public class AccountCache {
+
+    private static final String CACHE_NAME = "accounts";
+
+    private static final int STRIPES = 256;
+
+    private final Cache cache;
+
+    private final AccountRepository accountRepository;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public AccountCache(CacheManager cacheManager, AccountRepository accountRepository) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.accountRepository = accountRepository;
+    }
+
+    public Optional<CachedAccount> get(Long accountId) {
+        CachedAccount cached = cache.get(accountId, CachedAccount.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        int stripe = stripe(accountId);
+        long generation = generations.get(stripe);
+        Optional<CachedAccount> loaded = accountRepository.findCachedById(accountId);
+        if (loaded.isPresent() && generations.get(stripe) == generation) {
+            cache.put(accountId, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the account now, and again when the current transaction completes if there is one.
+     */
+    public void evict(Long accountId) {
+        evictNow(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(accountId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long accountId) {
+        generations.incrementAndGet(stripe(accountId));
+        cache.evict(accountId);
+    }
+
+    private static int stripe(Long accountId) {
+        return Long.hashCode(accountId) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.entity.Account;
+import com.backend.bank.entity.Customer;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached account whenever the account or its owner is updated or removed,
+ * whichever service made the change.
+ * <p>
+ * Hibernate resolves entity listeners while the entity manager factory is being built, and
+ * {@link AccountCache} needs a repository backed by that factory, so the cache is injected lazily.
+ */
+@Component
+public class AccountCacheListener {
+
+    private final AccountCache accountCache;
+
+    public AccountCacheListener(@Lazy AccountCache accountCache) {
+        this.accountCache = accountCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(Object entity) {
+        switch (entity) {
+            case Account account -> accountCache.evict(account.getId());
+            case Customer customer when customer.getAccount() != null -> accountCache.evict(customer.getAccount().getId());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.exception.AccountBusyException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks serializing balance updates per account inside this instance.
+ * <p>
+ * An account id maps to one of a fixed, power of two number of stripes. When several
+ * accounts are locked together (both sides of a transfer) the stripes are always taken in
+ * ascending stripe order, so two transfers in opposite directions cannot deadlock.
+ * Locks are held until the surrounding transaction completes, which means the next writer
+ * of the same account always reads the committed balance.
+ * <p>
+ * Every stripe publishes how often it was found held ({@code account.lock.contention})
+ * and how many threads are queued on it ({@code account.lock.waiting}).
+ */
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+
+    private final AtomicLongArray contention;
+
+    private final long timeoutMillis;
+
+    private final Timer waitTimer;
+
+    public AccountLockManager(
+            @Value("${transaction.lock.stripes:64}") int stripeCount,
+            @Value("${transaction.lock.timeout-millis:5000}") long timeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.contention = new AtomicLongArray(size);
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("account.lock.wait").register(meterRegistry);
+
+        for (int i = 0; i < size; i++) {
+            ReentrantLock lock = new ReentrantLock();
+            stripes[i] = lock;
+            String stripe = String.valueOf(i);
+            int index = i;
+            FunctionCounter.builder("account.lock.contention", contention, c -> c.get(index))
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            Gauge.builder("account.lock.waiting", lock, ReentrantLock::getQueueLength)
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Locks the stripes of the given accounts until the current transaction completes.
+     *
+     * @param accountIds The ids of every account the transaction is going to update.
+     *
+     * @throws AccountBusyException  If a stripe could not be acquired within the timeout.
+     * @throws IllegalStateException If no transaction synchronization is active.
+     */
+    public void lockForTransaction(Long... accountIds) throws AccountBusyException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Account locks must be taken inside a transaction");
+        }
+
+        int[] indexes = Arrays.stream(accountIds)
+                .mapToInt(this::stripeOf)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                acquire(index);
+                acquired++;
+            }
+        } finally {
+            if (acquired < indexes.length) {
+                release(indexes, acquired);
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(indexes, indexes.length);
+            }
+        });
+    }
+
+    private void acquire(int index) throws AccountBusyException {
+        ReentrantLock lock = stripes[index];
+        if (lock.tryLock()) {
+            return;
+        }
+
+        contention.incrementAndGet(index);
+        long start = System.nanoTime();
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new AccountBusyException("Account is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountBusyException("Interrupted while waiting for account");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void release(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripeOf(Long accountId) {
+        int hash = accountId.hashCode();
+        hash ^= hash >>> 16;
+        return hash & (stripes.length - 1);
+    }
+}
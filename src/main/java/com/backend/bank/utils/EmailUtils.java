@@ -3,6 +3,7 @@ package com.backend.bank.utils;
 import com.backend.bank.dto.request.ChangePasswordRequest;
 import com.backend.bank.dto.request.SignupRequest;
 import com.backend.bank.dto.request.TransactionRequest;
+import com.backend.bank.dto.response.BatchTransferResponse;
 import com.backend.bank.entity.Account;
 import com.backend.bank.entity.Customer;
 
@@ -62,12 +63,24 @@ public class EmailUtils {
         return message.toString();
     }
 
-    public static String sendEmailOnReceiving(Customer receiver, TransactionRequest transactionRequest, Date now) {
+    public static String sendEmailOnBatchTransfer(Customer customer, BatchTransferResponse response, Date now) {
+        AtomicReference<StringBuilder> message = new AtomicReference<>(new StringBuilder());
+        message.get().append("BATCH TRANSFER").append(NEW_LINE)
+                .append("Dear ").append(customer.getFirstName()).append(" ").append(customer.getLastName()).append(NEW_LINE)
+                .append("At: ").append(now).append(NEW_LINE)
+                .append("Your batch of ").append(response.results().size()).append(" transfers has been processed.").append(NEW_LINE)
+                .append("Completed: ").append(response.completed()).append(", failed: ").append(response.failed()).append(NEW_LINE)
+                .append("Total transferred: ").append(response.totalTransferred()).append(NEW_LINE)
+                .append("If it was not you, please contact us for further support.");
+        return message.toString();
+    }
+
+    public static String sendEmailOnReceiving(Customer receiver, TransactionRequest transactionRequest, BigDecimal balance, Date now) {
         AtomicReference<StringBuilder> message = new AtomicReference<>(new StringBuilder());
         message.get().append("Dear ").append(receiver.getFirstName()).append(" ").append(receiver.getLastName()).append(NEW_LINE)
                 .append("At: ").append(now).append(NEW_LINE)
                 .append("You have received ").append(transactionRequest.amount()).append(" from account number ").append(transactionRequest.transferToAccount()).append(NEW_LINE)
-                .append("Your current balance is: ").append(receiver.getAccount().getBalance()).append(NEW_LINE)
+                .append("Your current balance is: ").append(balance).append(NEW_LINE)
                 .append("Thank you for using our service!");
         return message.toString();
     }
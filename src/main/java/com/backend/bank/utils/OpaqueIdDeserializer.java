@@ -0,0 +1,29 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.security.data.OpaqueIdCodec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+public class OpaqueIdDeserializer extends StdDeserializer<Long> {
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    public OpaqueIdDeserializer(OpaqueIdCodec opaqueIdCodec) {
+        super(Long.class);
+        this.opaqueIdCodec = opaqueIdCodec;
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String opaqueId = parser.getValueAsString();
+        try {
+            return opaqueIdCodec.decode(opaqueId);
+        } catch (IllegalArgumentException e) {
+            return (Long) context.handleWeirdStringValue(Long.class, opaqueId, "not a valid id");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.security.data.OpaqueIdCodec;
+import com.backend.bank.utils.annotation.OpaqueId;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.AnnotationFormatterFactory;
+import org.springframework.format.Formatter;
+import org.springframework.format.Parser;
+import org.springframework.format.Printer;
+import org.springframework.lang.NonNull;
+
+import java.util.Locale;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class OpaqueIdFormatterFactory implements AnnotationFormatterFactory<OpaqueId> {
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    @Override
+    @NonNull
+    public Set<Class<?>> getFieldTypes() {
+        return Set.of(Long.class);
+    }
+
+    @Override
+    @NonNull
+    public Printer<?> getPrinter(@NonNull OpaqueId annotation, @NonNull Class<?> fieldType) {
+        return formatter();
+    }
+
+    @Override
+    @NonNull
+    public Parser<?> getParser(@NonNull OpaqueId annotation, @NonNull Class<?> fieldType) {
+        return formatter();
+    }
+
+    private Formatter<Long> formatter() {
+        return new Formatter<>() {
+            @Override
+            @NonNull
+            public Long parse(@NonNull String text, @NonNull Locale locale) {
+                return opaqueIdCodec.decode(text);
+            }
+
+            @Override
+            @NonNull
+            public String print(@NonNull Long id, @NonNull Locale locale) {
+                return opaqueIdCodec.encode(id);
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.security.data.OpaqueIdCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class OpaqueIdSerializer extends StdSerializer<Long> {
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    public OpaqueIdSerializer(OpaqueIdCodec opaqueIdCodec) {
+        super(Long.class);
+        this.opaqueIdCodec = opaqueIdCodec;
+    }
+
+    @Override
+    public void serialize(Long id, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeString(opaqueIdCodec.encode(id));
+    }
+}
@@ -0,0 +1,64 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.entity.Transaction;
+import com.backend.bank.exception.InputViolationException;
+import com.backend.bank.security.data.OpaqueIdCodec;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for keyset paging of the transaction history.
+ * <p>
+ * A cursor holds the {@code (timestamp, id)} of the last transaction of a page, the id
+ * encoded with {@link OpaqueIdCodec} like every other id the API returns.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionCursorCodec {
+
+    private static final String SEPARATOR = "~";
+
+    /**
+     * Position before every transaction, used when no cursor is given.
+     */
+    public static final Position FIRST = new Position(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final OpaqueIdCodec opaqueIdCodec;
+
+    public record Position(LocalDateTime timestamp, Long id) {
+    }
+
+    public String encode(Transaction transaction) {
+        String cursor = transaction.getTimestamp() + SEPARATOR + opaqueIdCodec.encode(transaction.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InputViolationException If the cursor was not produced by {@link #encode(Transaction)}.
+     */
+    public Position decode(String cursor) throws InputViolationException {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InputViolationException("Invalid cursor");
+            }
+            return new Position(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    opaqueIdCodec.decode(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InputViolationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.bank.utils.annotation;
+
+import com.backend.bank.utils.OpaqueIdDeserializer;
+import com.backend.bank.utils.OpaqueIdSerializer;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+
+/**
+ * Marks a {@code Long} database id that crosses the API as an opaque string,
+ * for path variables, request parameters and JSON bodies alike.
+ */
+@Target({ FIELD, METHOD, PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@JacksonAnnotationsInside
+@JsonSerialize(using = OpaqueIdSerializer.class)
+@JsonDeserialize(using = OpaqueIdDeserializer.class)
+public @interface OpaqueId {
+}
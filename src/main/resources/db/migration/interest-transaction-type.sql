@@ -0,0 +1,6 @@
+-- Allows the INTEREST transaction type on schemas whose enum check constraint was
+-- generated before it existed. ddl-auto=update does not rewrite check constraints.
+
+ALTER TABLE transactions DROP CONSTRAINT IF EXISTS transactions_type_check;
+ALTER TABLE transactions ADD CONSTRAINT transactions_type_check
+    CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'INTEREST'));
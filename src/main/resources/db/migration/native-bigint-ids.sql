@@ -0,0 +1,77 @@
+-- Swaps the decrypted *_bigint shadow columns filled by LegacyIdMigration in for the
+-- encrypted string id columns, then rebuilds keys, identities and foreign key indexes.
+
+ALTER TABLE accounts DROP COLUMN customer_id CASCADE;
+ALTER TABLE transactions DROP COLUMN account_id CASCADE;
+ALTER TABLE cards DROP COLUMN customer_id CASCADE;
+ALTER TABLE loans DROP COLUMN customer_id CASCADE;
+ALTER TABLE verify DROP COLUMN customer_id CASCADE;
+
+ALTER TABLE customers DROP COLUMN id CASCADE;
+ALTER TABLE accounts DROP COLUMN id CASCADE;
+ALTER TABLE transactions DROP COLUMN id CASCADE;
+ALTER TABLE cards DROP COLUMN id CASCADE;
+ALTER TABLE loans DROP COLUMN id CASCADE;
+ALTER TABLE verify DROP COLUMN id CASCADE;
+ALTER TABLE email_change_token DROP COLUMN id CASCADE;
+ALTER TABLE phone_change_token DROP COLUMN id CASCADE;
+
+ALTER TABLE customers RENAME COLUMN id_bigint TO id;
+ALTER TABLE accounts RENAME COLUMN id_bigint TO id;
+ALTER TABLE transactions RENAME COLUMN id_bigint TO id;
+ALTER TABLE cards RENAME COLUMN id_bigint TO id;
+ALTER TABLE loans RENAME COLUMN id_bigint TO id;
+ALTER TABLE verify RENAME COLUMN id_bigint TO id;
+ALTER TABLE email_change_token RENAME COLUMN id_bigint TO id;
+ALTER TABLE phone_change_token RENAME COLUMN id_bigint TO id;
+
+ALTER TABLE accounts RENAME COLUMN customer_id_bigint TO customer_id;
+ALTER TABLE transactions RENAME COLUMN account_id_bigint TO account_id;
+ALTER TABLE cards RENAME COLUMN customer_id_bigint TO customer_id;
+ALTER TABLE loans RENAME COLUMN customer_id_bigint TO customer_id;
+ALTER TABLE verify RENAME COLUMN customer_id_bigint TO customer_id;
+
+ALTER TABLE customers ADD PRIMARY KEY (id);
+ALTER TABLE accounts ADD PRIMARY KEY (id);
+ALTER TABLE transactions ADD PRIMARY KEY (id);
+ALTER TABLE cards ADD PRIMARY KEY (id);
+ALTER TABLE loans ADD PRIMARY KEY (id);
+ALTER TABLE verify ADD PRIMARY KEY (id);
+ALTER TABLE email_change_token ADD PRIMARY KEY (id);
+ALTER TABLE phone_change_token ADD PRIMARY KEY (id);
+
+ALTER TABLE customers ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE accounts ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE transactions ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE cards ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE loans ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE verify ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE email_change_token ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE phone_change_token ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+
+SELECT setval(pg_get_serial_sequence('customers', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM customers;
+SELECT setval(pg_get_serial_sequence('accounts', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM accounts;
+SELECT setval(pg_get_serial_sequence('transactions', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM transactions;
+SELECT setval(pg_get_serial_sequence('cards', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM cards;
+SELECT setval(pg_get_serial_sequence('loans', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM loans;
+SELECT setval(pg_get_serial_sequence('verify', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM verify;
+SELECT setval(pg_get_serial_sequence('email_change_token', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM email_change_token;
+SELECT setval(pg_get_serial_sequence('phone_change_token', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM phone_change_token;
+
+ALTER TABLE accounts ALTER COLUMN customer_id SET NOT NULL;
+ALTER TABLE transactions ALTER COLUMN account_id SET NOT NULL;
+ALTER TABLE cards ALTER COLUMN customer_id SET NOT NULL;
+ALTER TABLE loans ALTER COLUMN customer_id SET NOT NULL;
+
+ALTER TABLE accounts ADD CONSTRAINT fk_accounts_customer_id FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE accounts ADD CONSTRAINT uk_accounts_customer_id UNIQUE (customer_id);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_account_id FOREIGN KEY (account_id) REFERENCES accounts (id);
+ALTER TABLE cards ADD CONSTRAINT fk_cards_customer_id FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE loans ADD CONSTRAINT fk_loans_customer_id FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE verify ADD CONSTRAINT fk_verify_customer_id FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE verify ADD CONSTRAINT uk_verify_customer_id UNIQUE (customer_id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_account_id_timestamp ON transactions (account_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_account_id_type_timestamp ON transactions (account_id, type, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_cards_customer_id ON cards (customer_id);
+CREATE INDEX IF NOT EXISTS idx_loans_customer_id ON loans (customer_id);
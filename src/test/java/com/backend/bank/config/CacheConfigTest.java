@@ -0,0 +1,62 @@
+package com.backend.bank.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheConfigTest {
+
+    private static final String DEFAULT_SPEC = "maximumSize=2,expireAfterWrite=10m";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void boundsEveryCacheBySpec() {
+        MockEnvironment environment = new MockEnvironment().withProperty("cache.accounts.spec", "maximumSize=1,expireAfterAccess=5m");
+
+        CacheManager cacheManager = cacheManager(environment);
+        Cache accounts = cacheManager.getCache("accounts");
+        for (long id = 0; id < 10; id++) {
+            accounts.put(id, "account" + id);
+        }
+
+        assertThat(((com.google.common.cache.Cache<?, ?>) accounts.getNativeCache()).size()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "accounts").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "accounts").functionCounter().count()).isEqualTo(9);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "principals").gauge().value()).isZero();
+    }
+
+    @Test
+    void rejectsRefreshAfterWrite() {
+        MockEnvironment environment = new MockEnvironment().withProperty("cache.principals.spec", "maximumSize=10,refreshAfterWrite=1m");
+
+        assertThatThrownBy(() -> cacheManager(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cache.principals.spec")
+                .hasMessageContaining("refreshAfterWrite");
+    }
+
+    @Test
+    void rejectsMaximumWeight() {
+        MockEnvironment environment = new MockEnvironment().withProperty("cache.accounts.spec", "maximumWeight=100");
+
+        assertThatThrownBy(() -> cacheManager(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximumWeight");
+    }
+
+    private CacheManager cacheManager(MockEnvironment environment) {
+        CacheManager cacheManager = new CacheConfig().cacheManager(environment, meterRegistry, List.of("accounts", "principals"), DEFAULT_SPEC);
+        ((SimpleCacheManager) cacheManager).afterPropertiesSet();
+        return cacheManager;
+    }
+}
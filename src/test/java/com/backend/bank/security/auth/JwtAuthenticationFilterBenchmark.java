@@ -0,0 +1,221 @@
+package com.backend.bank.security.auth;
+
+import com.backend.bank.entity.Account;
+import com.backend.bank.entity.Customer;
+import com.backend.bank.entity.enums.AccountStatus;
+import com.backend.bank.entity.enums.Role;
+import com.backend.bank.security.data.OpaqueIdCodec;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * The filter cost of one authenticated request, from the bearer header to the security context.
+ * The old filter is reproduced as it was: it parsed and verified the token four times, once for
+ * the subject and three times in the validity check, building the key and parser on every parse.
+ * It is compared with the current filter loading the principal through the principal cache, with
+ * and without the verified-token cache, and with the stateless mode.
+ * <p>
+ * Every variant resolves the subject through the same in-memory {@link UserDetailsService}, so
+ * the database load the old filter made on every request is left out of its cost.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String ISSUER = "benchmark";
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private StaticApplicationContext applicationContext;
+
+    private LegacyJwtAuthenticationFilter legacyFilter;
+
+    private JwtAuthenticationFilter filter;
+
+    private JwtAuthenticationFilter uncachedFilter;
+
+    private JwtAuthenticationFilter statelessFilter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[64];
+        SecureRandom random = new SecureRandom();
+        random.nextBytes(keyBytes);
+        String secretKey = Encoders.BASE64URL.encode(keyBytes);
+        byte[] idCodecKey = new byte[16];
+        random.nextBytes(idCodecKey);
+        OpaqueIdCodec opaqueIdCodec = new OpaqueIdCodec(Base64.getEncoder().encodeToString(idCodecKey));
+
+        Customer customer = Customer.builder()
+                .email("john.doe@example.com")
+                .role(Role.ROLE_USER)
+                .build();
+        customer.setAccount(Account.builder()
+                .id(1L)
+                .accountStatus(AccountStatus.ACTIVE)
+                .accountHolder(customer)
+                .build());
+        UserDetailsService userDetailsService = username -> customer;
+
+        applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("userDetailsService", userDetailsService);
+        applicationContext.refresh();
+
+        JwtProvider cachedProvider = new JwtProvider(secretKey, ISSUER, 10_000, opaqueIdCodec);
+        JwtProvider uncachedProvider = new JwtProvider(secretKey, ISSUER, 0, opaqueIdCodec);
+        TokenDenylist tokenDenylist = new TokenDenylist(Duration.ofHours(8));
+        RevokedTokenRegistry revokedTokenRegistry = new RevokedTokenRegistry(Duration.ofMinutes(5), 100_000, 0.001);
+
+        legacyFilter = new LegacyJwtAuthenticationFilter(secretKey, userDetailsService);
+        filter = new JwtAuthenticationFilter(cachedProvider, applicationContext,
+                new PrincipalCache(new ConcurrentMapCacheManager("principals")), tokenDenylist, revokedTokenRegistry, false);
+        uncachedFilter = new JwtAuthenticationFilter(uncachedProvider, applicationContext,
+                new PrincipalCache(new ConcurrentMapCacheManager("principals")), tokenDenylist, revokedTokenRegistry, false);
+        statelessFilter = new JwtAuthenticationFilter(cachedProvider, applicationContext,
+                new PrincipalCache(new ConcurrentMapCacheManager("principals")), tokenDenylist, revokedTokenRegistry, true);
+
+        request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + cachedProvider.generateToken(customer));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Authentication legacyFilter() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        legacyFilter.doFilterInternal(request, response, CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication filterSharedParser() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        uncachedFilter.doFilterInternal(request, response, CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication filterCached() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication filterStateless() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        statelessFilter.doFilterInternal(request, response, CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * The filter and the token checks of the provider before the verify path was reworked.
+     */
+    private static final class LegacyJwtAuthenticationFilter extends OncePerRequestFilter {
+
+        private final String secretKey;
+
+        private final UserDetailsService userDetailsService;
+
+        private LegacyJwtAuthenticationFilter(String secretKey, UserDetailsService userDetailsService) {
+            this.secretKey = secretKey;
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String requestTokenHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+            if (requestTokenHeader == null || !requestTokenHeader.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            String jwt = requestTokenHeader.substring(7);
+            String username = extractAllClaims(jwt).getSubject();
+
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+                if (isTokenValid(jwt, userDetails)) {
+                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                            userDetails.getUsername(), null, userDetails.getAuthorities()
+                    );
+                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                } else {
+                    throw new JwtException("Invalid JWT token");
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean isTokenValid(String token, UserDetails userDetails) {
+            String username = extractAllClaims(token).getSubject();
+            return username.equals(userDetails.getUsername()) &&
+                    !extractAllClaims(token).getExpiration().before(new Date()) &&
+                    isValidSecretKey(token);
+        }
+
+        private boolean isValidSecretKey(String token) {
+            try {
+                extractAllClaims(token);
+                return true;
+            } catch (JwtException e) {
+                return false;
+            }
+        }
+
+        private Claims extractAllClaims(String token) {
+            return Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secretKey)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.backend.bank.security.data;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Column encryption with a key derived and a {@link Cipher} looked up on every call, as the
+ * converters used to do, against the derived-once key and per-thread ciphers of
+ * {@link DatabaseCipher}.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class DatabaseCipherBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private static final String SALT = "benchmark-salt";
+
+    private static final String ALGORITHM = "AES";
+
+    private static final String SECRET_KEY_FACTORY_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    @Param({"65536"})
+    int iterations;
+
+    private final byte[] plain = "john.doe@example.com".getBytes(StandardCharsets.UTF_8);
+
+    private DatabaseCipher databaseCipher;
+
+    private byte[] encrypted;
+
+    @Setup
+    public void setUp() {
+        databaseCipher = new DatabaseCipher(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(databaseCipher, "SECRET_KEY_PASSWORD", PASSWORD);
+        ReflectionTestUtils.setField(databaseCipher, "SALT", SALT);
+        ReflectionTestUtils.setField(databaseCipher, "ITERATIONS", iterations);
+        ReflectionTestUtils.setField(databaseCipher, "ALGORITHM", ALGORITHM);
+        ReflectionTestUtils.setField(databaseCipher, "SECRET_KEY_FACTORY_ALGORITHM", SECRET_KEY_FACTORY_ALGORITHM);
+        databaseCipher.deriveKey();
+        encrypted = databaseCipher.encrypt(plain);
+    }
+
+    @Benchmark
+    public byte[] encryptPerCall() throws GeneralSecurityException {
+        return perCallCipher(Cipher.ENCRYPT_MODE).doFinal(plain);
+    }
+
+    @Benchmark
+    public byte[] decryptPerCall() throws GeneralSecurityException {
+        return perCallCipher(Cipher.DECRYPT_MODE).doFinal(encrypted);
+    }
+
+    @Benchmark
+    public byte[] encryptCached() {
+        return databaseCipher.encrypt(plain);
+    }
+
+    @Benchmark
+    public byte[] decryptCached() {
+        return databaseCipher.decrypt(encrypted);
+    }
+
+    private Cipher perCallCipher(int mode) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(PASSWORD.toCharArray(), SALT.getBytes(), iterations, 256);
+        SecretKeyFactory skf = SecretKeyFactory.getInstance(SECRET_KEY_FACTORY_ALGORITHM);
+        SecretKeySpec keySpec = new SecretKeySpec(skf.generateSecret(spec).getEncoded(), ALGORITHM);
+        Cipher cipher = Cipher.getInstance(ALGORITHM);
+        cipher.init(mode, keySpec);
+        return cipher;
+    }
+}
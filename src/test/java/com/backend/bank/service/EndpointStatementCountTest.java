@@ -0,0 +1,280 @@
+package com.backend.bank.service;
+
+import com.backend.bank.dto.request.BatchTransferRequest;
+import com.backend.bank.dto.request.LoginRequest;
+import com.backend.bank.dto.request.TransferInstruction;
+import com.backend.bank.dto.response.TransactionHistoryResponse;
+import com.backend.bank.entity.Account;
+import com.backend.bank.entity.Customer;
+import com.backend.bank.entity.Transaction;
+import com.backend.bank.entity.enums.AccountStatus;
+import com.backend.bank.entity.enums.AccountType;
+import com.backend.bank.entity.enums.Role;
+import com.backend.bank.entity.enums.TransactionHistoryFilter;
+import com.backend.bank.entity.enums.TransactionStatus;
+import com.backend.bank.entity.enums.TransactionType;
+import com.backend.bank.exception.AccountFrozenException;
+import com.backend.bank.repository.CustomerRepository;
+import com.backend.bank.repository.TransactionRepository;
+import com.backend.bank.repository.TransferBatchRepository;
+import com.backend.bank.security.SecurityWall;
+import com.backend.bank.security.auth.JwtProvider;
+import com.backend.bank.security.auth.PrincipalCache;
+import com.backend.bank.security.auth.PrincipalCacheListener;
+import com.backend.bank.security.auth.TokenDenylist;
+import com.backend.bank.security.auth.TokenRevocationListener;
+import com.backend.bank.security.data.BlindIndex;
+import com.backend.bank.security.data.BlindIndexListener;
+import com.backend.bank.security.data.DatabaseCipher;
+import com.backend.bank.security.data.OpaqueIdCodec;
+import com.backend.bank.service.impl.LoginServiceImpl;
+import com.backend.bank.service.impl.TransactionServiceImpl;
+import com.backend.bank.service.intf.InterestService;
+import com.backend.bank.service.intf.LedgerService;
+import com.backend.bank.service.intf.LoginService;
+import com.backend.bank.service.intf.NotificationService;
+import com.backend.bank.service.intf.TransactionService;
+import com.backend.bank.utils.AccountCache;
+import com.backend.bank.utils.AccountCacheListener;
+import com.backend.bank.utils.AccountLockManager;
+import com.backend.bank.utils.RequestValidator;
+import com.backend.bank.utils.TransactionCursorCodec;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Guards the hot read paths against N+1 regressions by counting the JDBC statements
+ * Hibernate prepares for one call of each: the access check and the account validation
+ * behind every account endpoint, login and the history endpoints.
+ * <p>
+ * The services run outside a test transaction, the way a request runs them.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.jwt.secret-key=c3RhdGVtZW50LWNvdW50LXRlc3Qtc2lnbmluZy1rZXktb2YtYXQtbGVhc3QtNjQtYnl0ZXMtbG9uZy0xMjM0NTY3",
+        "security.jwt.issuer=bank",
+        "security.id-codec.key=c3RhdGVtZW50LWNvdW50IQ=="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        EndpointStatementCountTest.Config.class,
+        DatabaseCipher.class,
+        BlindIndex.class,
+        BlindIndexListener.class,
+        AccountCache.class,
+        AccountCacheListener.class,
+        PrincipalCache.class,
+        PrincipalCacheListener.class,
+        TokenDenylist.class,
+        TokenRevocationListener.class,
+        OpaqueIdCodec.class,
+        JwtProvider.class,
+        SecurityWall.class,
+        RequestValidator.class,
+        TransactionCursorCodec.class,
+        TransferBatchRepository.class,
+        AccountLockManager.class,
+        LoginServiceImpl.class,
+        TransactionServiceImpl.class
+})
+class EndpointStatementCountTest {
+
+    private static final String PASSWORD = "Password1!";
+
+    private static final int TRANSACTIONS = 10;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private InterestService interestService;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SecurityWall securityWall;
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+
+    private Account active;
+
+    private Account frozen;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            active = newAccount("active", AccountStatus.ACTIVE);
+            frozen = newAccount("frozen", AccountStatus.FROZEN);
+            for (int t = 0; t < TRANSACTIONS; t++) {
+                transactionRepository.save(Transaction.builder()
+                        .amount(BigDecimal.TEN)
+                        .timestamp(LocalDateTime.now().minusMinutes(t))
+                        .type(t % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL)
+                        .status(TransactionStatus.COMPLETED)
+                        .account(active)
+                        .build());
+            }
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM accounts");
+        jdbcTemplate.update("DELETE FROM customers");
+    }
+
+    @Test
+    void accessCheckIsOneStatementThenCached() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("active@example.com", null, List.of()));
+
+        assertThat(securityWall.canAccessAccount(active.getId())).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(securityWall.canAccessAccount(active.getId())).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void accountValidationIsOneStatementThenCached() {
+        BatchTransferRequest request = new BatchTransferRequest(
+                List.of(new TransferInstruction("10000000", BigDecimal.TEN)));
+
+        assertThatThrownBy(() -> transactionService.batchTransfer(frozen.getId(), request))
+                .isInstanceOf(AccountFrozenException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> transactionService.batchTransfer(frozen.getId(), request))
+                .isInstanceOf(AccountFrozenException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loginFetchesAccountInOneStatement() throws Exception {
+        assertThat(loginService.login(new LoginRequest("active@example.com", PASSWORD)).get().token()).isNotBlank();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void historyPageDoesNotLoadAccountPerRow() throws Exception {
+        TransactionHistoryResponse page = transactionService
+                .getTransactionHistory(active.getId(), TransactionHistoryFilter.ALL, null, TRANSACTIONS)
+                .get();
+
+        assertThat(page.transactions()).hasSize(TRANSACTIONS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void typedHistoryDoesNotLoadAccountPerRow() throws Exception {
+        assertThat(transactionService.getDepositTransactionHistory(active.getId(), 0, TRANSACTIONS).get())
+                .hasSize(TRANSACTIONS / 2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private Account newAccount(String name, AccountStatus status) {
+        Customer customer = Customer.builder()
+                .password(passwordEncoder.encode(PASSWORD))
+                .email(name + "@example.com")
+                .phoneNumber("+84900000" + name.length() + status.ordinal())
+                .firstName("First")
+                .lastName(name)
+                .role(Role.ROLE_USER)
+                .build();
+        Account account = Account.builder()
+                .accountNumber("1000000" + status.ordinal())
+                .balance(BigDecimal.valueOf(1000))
+                .interest(BigDecimal.ZERO)
+                .accountType(AccountType.REGULAR)
+                .accountStatus(status)
+                .accountHolder(customer)
+                .build();
+        customer.setAccount(account);
+        return customerRepository.save(customer).getAccount();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
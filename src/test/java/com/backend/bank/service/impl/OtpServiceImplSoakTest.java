@@ -0,0 +1,164 @@
+package com.backend.bank.service.impl;
+
+import com.backend.bank.service.intf.SmsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives {@link OtpServiceImpl} from many threads with far more identifiers than the cache
+ * holds, and checks the size bound, the expiry and the attempt limit while under load.
+ */
+class OtpServiceImplSoakTest {
+
+    private static final int THREADS = 16;
+
+    private static final int MAX_SIZE = 1_000;
+
+    private static final int IDENTIFIERS_PER_THREAD = 5_000;
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final Duration EXPIRATION = Duration.ofMillis(500);
+
+    private static final Duration ATTEMPT_WINDOW = Duration.ofMinutes(1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OtpServiceImpl otpService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        otpService = new OtpServiceImpl(mock(SmsService.class), meterRegistry, EXPIRATION, MAX_ATTEMPTS, ATTEMPT_WINDOW, MAX_SIZE);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void staysWithinSizeBoundUnderLoad() throws Exception {
+        AtomicInteger maxObservedSize = new AtomicInteger();
+        runOnAllThreads(thread -> {
+            for (int i = 0; i < IDENTIFIERS_PER_THREAD; i++) {
+                String identifier = "+84" + thread + "-" + i;
+                String otp = otpService.generateOTP(identifier);
+                otpService.validateOTP(identifier, otp);
+                if (i % 100 == 0) {
+                    maxObservedSize.accumulateAndGet((int) cacheSize(), Math::max);
+                }
+            }
+        });
+
+        // A size read while other threads are writing may count an entry before its segment evicts.
+        assertThat(maxObservedSize.get()).isLessThanOrEqualTo(MAX_SIZE + THREADS);
+        assertThat(cacheSize()).isLessThanOrEqualTo(MAX_SIZE);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "otp").functionCounter().count())
+                .isGreaterThanOrEqualTo((double) THREADS * IDENTIFIERS_PER_THREAD - MAX_SIZE);
+    }
+
+    @Test
+    void expiresCodesWrittenUnderLoad() throws Exception {
+        ConcurrentHashMap<String, String> issued = new ConcurrentHashMap<>();
+        runOnAllThreads(thread -> {
+            for (int i = 0; i < MAX_SIZE / THREADS; i++) {
+                String identifier = "+84" + thread + "-" + i;
+                issued.put(identifier, otpService.generateOTP(identifier));
+            }
+        });
+        assertThat(cacheSize()).isPositive();
+
+        Thread.sleep(EXPIRATION.multipliedBy(2).toMillis());
+        otpService.cleanUp();
+
+        assertThat(cacheSize()).isZero();
+        issued.forEach((identifier, otp) -> assertThat(otpService.validateOTP(identifier, otp)).isFalse());
+    }
+
+    @Test
+    void limitsConcurrentAttemptsPerCode() throws Exception {
+        String identifier = "+84900000000";
+        String otp = otpService.generateOTP(identifier);
+        String wrong = otp.equals("000000") ? "000001" : "000000";
+
+        AtomicInteger accepted = new AtomicInteger();
+        runOnAllThreads(thread -> {
+            for (int i = 0; i < 100; i++) {
+                if (otpService.validateOTP(identifier, thread % 2 == 0 ? wrong : otp)) {
+                    accepted.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(accepted.get()).isLessThanOrEqualTo(MAX_ATTEMPTS);
+        assertThat(otpService.validateOTP(identifier, otp)).isFalse();
+    }
+
+    @Test
+    void regeneratingCodesDoesNotResetAttempts() throws Exception {
+        String identifier = "+84900000001";
+
+        AtomicInteger accepted = new AtomicInteger();
+        runOnAllThreads(thread -> {
+            for (int i = 0; i < 100; i++) {
+                if (otpService.validateOTP(identifier, otpService.generateOTP(identifier))) {
+                    accepted.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(accepted.get()).isLessThanOrEqualTo(MAX_ATTEMPTS);
+        assertThat(otpService.validateOTP(identifier, otpService.generateOTP(identifier))).isFalse();
+
+        otpService.invalidateOTP(identifier);
+        assertThat(otpService.validateOTP(identifier, otpService.generateOTP(identifier))).isTrue();
+    }
+
+    private void runOnAllThreads(ThreadTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int thread = 0; thread < THREADS; thread++) {
+            int index = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private long cacheSize() {
+        return (long) meterRegistry.get("cache.size").tag("cache", "otp").gauge().value();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
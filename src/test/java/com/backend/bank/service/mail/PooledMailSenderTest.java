@@ -0,0 +1,124 @@
+package com.backend.bank.service.mail;
+
+import com.backend.bank.dto.EmailDetails;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends batches through {@link PooledMailSender} to an in-process GreenMail SMTP server and
+ * checks what the server received together with the batch latency and throughput meters.
+ */
+class PooledMailSenderTest {
+
+    private static final String FROM = "bank@example.com";
+
+    private static final int BATCH_SIZE = 50;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PooledMailSender pooledMailSender;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pooledMailSender = newSender(ServerSetupTest.SMTP.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pooledMailSender.close();
+    }
+
+    @Test
+    void sendsBatchOverPooledTransport() throws Exception {
+        Map<Integer, MailException> failures = pooledMailSender.sendBatch(emails(BATCH_SIZE), FROM);
+
+        assertThat(failures).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            MimeMessage message = received[i];
+            assertThat(message.getFrom()[0].toString()).isEqualTo(FROM);
+            assertThat(message.getRecipients(Message.RecipientType.TO)[0].toString()).isEqualTo(receiver(i));
+            assertThat(message.getSubject()).isEqualTo("Subject " + i);
+            assertThat(GreenMailUtil.getBody(message)).isEqualTo("Body " + i);
+        }
+
+        Timer batch = meterRegistry.get("mail.batch").timer();
+        assertThat(batch.count()).isEqualTo(1);
+        assertThat(batch.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(meterRegistry.get("mail.sent").counter().count()).isEqualTo(BATCH_SIZE);
+        assertThat(meterRegistry.get("mail.failed").counter().count()).isZero();
+        double messagesPerSecond = meterRegistry.get("mail.sent").counter().count() / batch.totalTime(TimeUnit.SECONDS);
+        assertThat(messagesPerSecond).isPositive();
+    }
+
+    @Test
+    void reconnectsWhenServerDroppedPooledTransport() {
+        assertThat(pooledMailSender.sendBatch(emails(BATCH_SIZE), FROM)).isEmpty();
+
+        greenMail.reset();
+        Map<Integer, MailException> failures = pooledMailSender.sendBatch(emails(BATCH_SIZE), FROM);
+
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(BATCH_SIZE);
+        assertThat(meterRegistry.get("mail.batch").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mail.sent").counter().count()).isEqualTo(2 * BATCH_SIZE);
+    }
+
+    @Test
+    void failsWholeBatchWhenServerIsUnreachable() {
+        PooledMailSender unreachable = newSender(ServerSetupTest.SMTP.getPort() + 1000);
+
+        Map<Integer, MailException> failures = unreachable.sendBatch(emails(BATCH_SIZE), FROM);
+
+        assertThat(failures).hasSize(BATCH_SIZE);
+        assertThat(failures.values()).allMatch(MailSendException.class::isInstance);
+        assertThat(meterRegistry.get("mail.failed").counter().count()).isEqualTo(BATCH_SIZE);
+        assertThat(meterRegistry.get("mail.sent").counter().count()).isZero();
+    }
+
+    private PooledMailSender newSender(int port) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        javaMailSender.setPort(port);
+        return new PooledMailSender(javaMailSender, meterRegistry, 2, Duration.ofSeconds(5));
+    }
+
+    private static List<EmailDetails> emails(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EmailDetails(receiver(i), "Subject " + i, "Body " + i, null))
+                .toList();
+    }
+
+    private static String receiver(int i) {
+        return "customer" + i + "@example.com";
+    }
+}
@@ -0,0 +1,141 @@
+package com.backend.bank.utils;
+
+import com.backend.bank.dto.CachedAccount;
+import com.backend.bank.entity.enums.AccountStatus;
+import com.backend.bank.entity.enums.AccountType;
+import com.backend.bank.repository.AccountRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Races {@link AccountCache#get} against a ban and its eviction, and checks that the banned
+ * status is what the cache serves once the eviction is done.
+ */
+class AccountCacheTest {
+
+    private static final Long ACCOUNT_ID = 42L;
+
+    private static final int READERS = 8;
+
+    private final AtomicReference<AccountStatus> committedStatus = new AtomicReference<>(AccountStatus.ACTIVE);
+
+    private AccountRepository accountRepository;
+
+    private AccountCache accountCache;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findCachedById(anyLong())).thenAnswer(invocation -> Optional.of(cached(committedStatus.get())));
+        accountCache = new AccountCache(new ConcurrentMapCacheManager("accounts"), accountRepository);
+        executor = Executors.newFixedThreadPool(READERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadStartedBeforeEvictionDoesNotCacheOldStatus() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(accountRepository.findCachedById(ACCOUNT_ID)).thenAnswer(invocation -> {
+            CachedAccount read = cached(committedStatus.get());
+            loading.countDown();
+            evicted.await();
+            return Optional.of(read);
+        });
+
+        Future<Optional<CachedAccount>> staleRead = executor.submit(() -> accountCache.get(ACCOUNT_ID));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        committedStatus.set(AccountStatus.BANNED);
+        accountCache.evict(ACCOUNT_ID);
+        evicted.countDown();
+
+        assertThat(staleRead.get(5, TimeUnit.SECONDS)).map(CachedAccount::accountStatus).contains(AccountStatus.ACTIVE);
+        when(accountRepository.findCachedById(ACCOUNT_ID)).thenAnswer(invocation -> Optional.of(cached(committedStatus.get())));
+        assertThat(accountCache.get(ACCOUNT_ID)).map(CachedAccount::accountStatus).contains(AccountStatus.BANNED);
+    }
+
+    @Test
+    void loadBetweenUpdateAndCommitIsEvictedOnCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        accountCache.evict(ACCOUNT_ID);
+
+        assertThat(accountCache.get(ACCOUNT_ID)).map(CachedAccount::accountStatus).contains(AccountStatus.ACTIVE);
+
+        committedStatus.set(AccountStatus.BANNED);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(accountCache.get(ACCOUNT_ID)).map(CachedAccount::accountStatus).contains(AccountStatus.BANNED);
+    }
+
+    @Test
+    void concurrentReadersSeeBanAfterEviction() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            committedStatus.set(AccountStatus.ACTIVE);
+            accountCache.evict(ACCOUNT_ID);
+
+            AtomicBoolean banned = new AtomicBoolean();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> readers = new ArrayList<>(READERS);
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (!banned.get()) {
+                        accountCache.get(ACCOUNT_ID);
+                    }
+                    for (int read = 0; read < 100; read++) {
+                        accountCache.get(ACCOUNT_ID);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            Thread.onSpinWait();
+            committedStatus.set(AccountStatus.BANNED);
+            accountCache.evict(ACCOUNT_ID);
+            banned.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(accountCache.get(ACCOUNT_ID)).map(CachedAccount::accountStatus).contains(AccountStatus.BANNED);
+        }
+    }
+
+    private static CachedAccount cached(AccountStatus status) {
+        return new CachedAccount(ACCOUNT_ID, "index", AccountType.REGULAR, status, "owner");
+    }
+}
@@ -0,0 +1,85 @@
+package com.backend.bank.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transfers per second through {@link AccountLockManager} with many threads moving money
+ * between random accounts, comparing one global lock with striped locks over a small set of
+ * hot accounts and a large set of cold ones.
+ * <p>
+ * Each transfer locks both sides, reads and checks the sender's balance and writes both
+ * balances, then completes the synchronization, which releases the stripes the same way a
+ * committed transaction does. The balances are plain fields guarded only by the stripes, so
+ * the sum of all balances stays unchanged only if the locking is correct; it is checked after
+ * every iteration.
+ */
+@State(Scope.Benchmark)
+@Threads(16)
+public class AccountLockManagerBenchmark {
+
+    private static final long INITIAL_BALANCE = 1_000;
+
+    @Param({"1", "64", "1024"})
+    int stripes;
+
+    @Param({"16", "100000"})
+    int accounts;
+
+    private AccountLockManager accountLockManager;
+
+    private long[] balances;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        accountLockManager = new AccountLockManager(stripes, 5000, new SimpleMeterRegistry());
+        balances = new long[accounts];
+        Arrays.fill(balances, INITIAL_BALANCE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkBalances() {
+        long total = Arrays.stream(balances).sum();
+        if (total != INITIAL_BALANCE * accounts) {
+            throw new IllegalStateException("Balance drift: expected " + INITIAL_BALANCE * accounts + " but was " + total);
+        }
+    }
+
+    @Benchmark
+    public boolean transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sender = random.nextInt(accounts);
+        int recipient = random.nextInt(accounts);
+        long amount = random.nextLong(1, 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountLockManager.lockForTransaction((long) sender, (long) recipient);
+            long available = balances[sender];
+            if (available < amount) {
+                return false;
+            }
+            balances[sender] = available - amount;
+            balances[recipient] += amount;
+            return true;
+        } finally {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}